@@ -0,0 +1,61 @@
+package com.mournlied.nutrition_tracker_api.benchmark;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.Comida;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.user.HistorialPeso;
+import com.mournlied.nutrition_tracker_api.domain.user.InformacionPersonal;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.InformacionPersonalDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mapeo entidad -> DTO de las respuestas de historial y de informacion personal
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstruccionDtoBenchmark {
+
+    private Comida comida;
+
+    @Setup
+    public void setup() {
+        comida = new Comida(1L, null, LocalDate.now(), "comida benchmark", 250, "descripcion", "Almuerzo",
+                DatosBenchmark.informacionNutricional(), false);
+    }
+
+    @State(Scope.Benchmark)
+    public static class EstadoInformacionPersonal {
+
+        @Param({"10", "365"})
+        public int registrosPeso;
+
+        private InformacionPersonal informacionPersonal;
+
+        @Setup
+        public void setup() {
+
+            List<HistorialPeso> historial = new ArrayList<>(registrosPeso);
+            informacionPersonal = new InformacionPersonal(1L, null, historial, 80, "Benchmark",
+                    LocalDate.of(1990, 1, 1), 175, "mantener peso");
+            for (int i = 0; i < registrosPeso; i++) {
+                historial.add(new HistorialPeso(i, informacionPersonal, 70 + i % 10, LocalDate.now().minusDays(i)));
+            }
+        }
+    }
+
+    @Benchmark
+    public ObtenerComidaDTO obtenerComidaDTO() {
+        return new ObtenerComidaDTO(comida);
+    }
+
+    @Benchmark
+    public InformacionPersonalDTO informacionPersonalDTO(EstadoInformacionPersonal estado) {
+        return new InformacionPersonalDTO(estado.informacionPersonal);
+    }
+}
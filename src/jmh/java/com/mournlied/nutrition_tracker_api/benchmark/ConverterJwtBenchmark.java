@@ -0,0 +1,75 @@
+package com.mournlied.nutrition_tracker_api.benchmark;
+
+import com.mournlied.nutrition_tracker_api.domain.user.Permiso;
+import com.mournlied.nutrition_tracker_api.domain.user.Rol;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
+import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.RolRepository;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Conversion de autoridades que corre en cada request autenticada, con repositorios stub
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterJwtBenchmark {
+
+    private CacheUserAutenticado cacheUserAutenticado;
+    private CustomJwtRoleAndPermissionConverter converter;
+
+    private final Jwt jwt = Jwt.withTokenValue("benchmark")
+            .header("alg", "none")
+            .claim("email", "benchmark@mournlied.com")
+            .build();
+
+    @Setup
+    public void setup() {
+
+        UserRepository userRepository = mock(UserRepository.class);
+        RolRepository rolRepository = mock(RolRepository.class);
+
+        Rol user = new Rol(1, null,
+                Set.of(new Permiso(1, null, "leer_user_propio"), new Permiso(2, null, "modificar_info_personal")),
+                Set.of(), null, "USER");
+        Rol admin = new Rol(2, null, Set.of(new Permiso(3, null, "leer_lista_users")), Set.of(user), null, "ADMIN");
+
+        when(userRepository.findUserAutenticadoByCorreo("benchmark@mournlied.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "benchmark@mournlied.com", 2, 1)));
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(user, admin));
+
+        cacheUserAutenticado = new CacheUserAutenticado(10_000, Duration.ofMinutes(5));
+        IndiceJerarquiaRoles indice = new IndiceJerarquiaRoles(rolRepository, Duration.ofSeconds(30));
+        indice.reconstruir();
+        converter = new CustomJwtRoleAndPermissionConverter(
+                new ProveedorUserAutenticado(userRepository, cacheUserAutenticado), indice);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convertUserEnCache() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convertUserFueraDeCache() {
+        cacheUserAutenticado.invalidar("benchmark@mournlied.com");
+        return converter.convert(jwt);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mournlied.nutrition_tracker_api.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class DatosBenchmark {
+
+    private DatosBenchmark() {
+    }
+
+    // Misma forma que info_nutricional en las comidas semilla, con un nivel anidado
+    static Map<String, Object> informacionNutricional() {
+
+        Map<String, Object> grasa = new LinkedHashMap<>();
+        grasa.put("total", 12);
+        grasa.put("saturada", 4);
+        grasa.put("trans", 0);
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("calorias", 540);
+        info.put("proteinas", 32);
+        info.put("carbohidratos", 60);
+        info.put("azucares", 8);
+        info.put("fibra", 6);
+        info.put("sodio", 720);
+        info.put("grasa", grasa);
+        return info;
+    }
+}
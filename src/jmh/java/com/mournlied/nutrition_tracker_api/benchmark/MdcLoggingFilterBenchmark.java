@@ -0,0 +1,42 @@
+package com.mournlied.nutrition_tracker_api.benchmark;
+
+import com.mournlied.nutrition_tracker_api.infra.logging.MdcLoggingFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Costo del filtro de MDC por request: generar el requestId y completar el MDC
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MdcLoggingFilterBenchmark {
+
+    private MdcLoggingFilter filtro;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain cadena;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+
+        filtro = new MdcLoggingFilter("");
+        request = new MockHttpServletRequest("GET", "/api/tracker/historial");
+        response = new MockHttpServletResponse();
+        cadena = (req, res) -> blackhole.consume(MDC.get("requestId"));
+    }
+
+    @Benchmark
+    public void doFilter() throws ServletException, IOException {
+        filtro.doFilter(request, response, cadena);
+    }
+}
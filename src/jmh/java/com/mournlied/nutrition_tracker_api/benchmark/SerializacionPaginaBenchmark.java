@@ -0,0 +1,49 @@
+package com.mournlied.nutrition_tracker_api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializacion de una pagina de historial tal como la escribe el message converter de MVC
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionPaginaBenchmark {
+
+    @Param({"20", "100"})
+    public int tamanoPagina;
+
+    private ObjectMapper mapper;
+    private Page<ObtenerComidaDTO> pagina;
+
+    @Setup
+    public void setup() {
+
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ObtenerComidaDTO> comidas = new ArrayList<>(tamanoPagina);
+        for (int i = 0; i < tamanoPagina; i++) {
+            comidas.add(new ObtenerComidaDTO((long) i, "comida " + i, LocalDate.now().minusDays(i), 100 + i,
+                    "descripcion de la comida " + i, "Cena", DatosBenchmark.informacionNutricional()));
+        }
+        pagina = new PageImpl<>(comidas, PageRequest.of(0, tamanoPagina), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,131 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.ObtenerAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.service.AlimentoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/alimentos")
+@Validated
+@Tag(name = "Catalogo de alimentos",
+        description = "Alimentos compartidos con nutrientes por 100 g, para registrar comidas sin ingresar la informacion nutricional")
+public class AlimentoController {
+
+    private final AlimentoService alimentoService;
+
+    public AlimentoController(AlimentoService alimentoService){
+        this.alimentoService = alimentoService;
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "Obtener catalogo de alimentos",
+            description = "Retorna una lista paginada de los alimentos del catalogo con sus nutrientes por 100 g"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Catalogo retornado satisfactoriamente"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<Page<ObtenerAlimentoDTO>> obtenerListaAlimentos(
+            @Parameter(description = "Parametros de paginación")
+            @PageableDefault(sort = "nombre", direction = Sort.Direction.ASC) Pageable paginacion){
+
+        return ResponseEntity.ok(alimentoService.obtenerListaAlimentos(paginacion));
+    }
+
+    @GetMapping("/{alimentoId}")
+    @Operation(
+            summary = "Obtener alimento por ID",
+            description = "Retorna el alimento del catalogo con sus nutrientes por 100 g"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alimento retornado satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = ObtenerAlimentoDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Alimento no existe"
+            )
+    })
+    public ResponseEntity<ObtenerAlimentoDTO> obtenerAlimento(@PathVariable Long alimentoId){
+
+        return ResponseEntity.ok(alimentoService.obtenerAlimento(alimentoId));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Registrar alimento en el catalogo (Solo Admins)",
+            description = "Agrega un alimento al catalogo compartido. Requiere rol de Administrador/a",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Alimento registrado satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = ObtenerAlimentoDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Datos ingresados inválidos o error de validación"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acceso denegado, se requiere el rol de Admin"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya existe un alimento con el nombre ingresado"
+            )
+    })
+    public ResponseEntity<ObtenerAlimentoDTO> registrarAlimento(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Datos del alimento",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = RegistroAlimentoDTO.class))
+            )
+            @RequestBody @Valid @NotNull RegistroAlimentoDTO registroAlimentoDTO,
+            @Parameter(hidden = true) UriComponentsBuilder uriComponentsBuilder){
+
+        var alimento = alimentoService.registrarAlimento(registroAlimentoDTO);
+        URI url = uriComponentsBuilder.path("/api/alimentos/{id}").buildAndExpand(alimento.alimentoId()).toUri();
+        return ResponseEntity.created(url).body(alimento);
+    }
+}
@@ -0,0 +1,98 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.service.ExportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/exportar")
+@Tag(name = "Exportación",
+        description = "Descarga del historial completo de comidas y de peso del usuario o la usuaria")
+public class ExportacionController {
+
+    private final ExportacionService exportacionService;
+
+    public ExportacionController(ExportacionService exportacionService){
+        this.exportacionService = exportacionService;
+    }
+
+    @GetMapping("/comidas")
+    @Operation(
+            summary = "Exportar comidas",
+            description = "Descarga todas las comidas registradas, de la más antigua a la más reciente, en NDJSON (un objeto JSON por línea) o CSV"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exportación iniciada, el contenido se envía a medida que se lee"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no válido"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportarComidas(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Formato de exportación")
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato){
+
+        return respuestaDescarga(formato, "comidas", exportacionService.exportarComidas(jwt, formato));
+    }
+
+    @GetMapping("/historial-peso")
+    @Operation(
+            summary = "Exportar historial de peso",
+            description = "Descarga todo el historial de peso, del registro más antiguo al más reciente, en NDJSON (un objeto JSON por línea) o CSV"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exportación iniciada, el contenido se envía a medida que se lee"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no válido"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportarHistorialPeso(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Formato de exportación")
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato){
+
+        return respuestaDescarga(formato, "historial-peso", exportacionService.exportarHistorialPeso(jwt, formato));
+    }
+
+    private ResponseEntity<StreamingResponseBody> respuestaDescarga(
+            FormatoExportacion formato, String nombreArchivo, StreamingResponseBody cuerpo){
+
+        return ResponseEntity.ok()
+                .contentType(formato.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(nombreArchivo + "." + formato.extension())
+                        .build()
+                        .toString())
+                .body(cuerpo);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.domain.importacion.dto.ResultadoImportacionDTO;
+import com.mournlied.nutrition_tracker_api.service.ImportacionComidasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/importar")
+@Tag(name = "Importación",
+        description = "Carga masiva del historial de comidas desde otros registros")
+public class ImportacionController {
+
+    private final ImportacionComidasService importacionComidasService;
+
+    public ImportacionController(ImportacionComidasService importacionComidasService){
+        this.importacionComidasService = importacionComidasService;
+    }
+
+    @PostMapping("/comidas")
+    @Operation(
+            summary = "Importar comidas",
+            description = "Registra las comidas de un archivo NDJSON (un objeto por línea) o CSV con encabezado, con los mismos campos que el registro de una comida " +
+                    "más un fechaCreacionComida opcional. Acepta el formato de /api/exportar/comidas. El archivo se procesa a medida que llega; " +
+                    "los registros inválidos o con nombre existente se omiten y se informan en el resultado"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Importación procesada, con el conteo y el detalle de registros omitidos",
+                    content = @Content(schema = @Schema(implementation = ResultadoImportacionDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no válido"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<ResultadoImportacionDTO> importarComidas(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Formato del archivo")
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato,
+            @Parameter(hidden = true) InputStream cuerpo) throws IOException {
+
+        return ResponseEntity.ok(importacionComidasService.importarComidas(jwt, formato, cuerpo));
+    }
+}
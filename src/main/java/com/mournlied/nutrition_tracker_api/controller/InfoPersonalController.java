@@ -10,17 +10,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/personal")
 @Validated
@@ -174,4 +179,37 @@ public class InfoPersonalController {
 
         return ResponseEntity.ok(personalService.obtenerHistorialPeso(jwt, paginacion));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/historial-peso/serie")
+    @Operation(
+            summary = "Obtener serie de peso para gráficos",
+            description = "Divide el rango de fechas en intervalos de igual largo y retorna el peso mínimo, promedio y máximo de cada intervalo con registros. " +
+                    "La cantidad de puntos no depende de cuántos registros existan. Si no se entregan fechas, se usa el último año"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Serie de peso retornada satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = SeriePesoDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Rango de fechas o cantidad de puntos no válidos"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No autorizada/o - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<SeriePesoDTO> obtenerSeriePeso(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Dia inicial para filtro (Formato de fecha ISO: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Dia final para filtro (Formato de fecha ISO: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Cantidad máxima de puntos de la serie")
+            @RequestParam(defaultValue = "100") @Min(2) @Max(1000) int puntos){
+
+        return ResponseEntity.ok(personalService.obtenerSeriePeso(jwt, startDate, endDate, puntos));
+    }
+}
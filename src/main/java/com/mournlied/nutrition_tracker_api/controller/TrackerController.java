@@ -1,31 +1,52 @@
 package com.mournlied.nutrition_tracker_api.controller;
 
+import com.mournlied.nutrition_tracker_api.domain.comida.AgrupacionResumen;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaPorIdDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.PaginaCursorComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaAlimentoDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenNutricionalDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenReconstruidoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.SugerenciasComidaDTO;
 import com.mournlied.nutrition_tracker_api.service.ComidaService;
+import com.mournlied.nutrition_tracker_api.service.ResumenDiarioService;
+import com.mournlied.nutrition_tracker_api.service.ResumenNutricionalService;
+import com.mournlied.nutrition_tracker_api.service.SugerenciasComidaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/tracker")
@@ -35,9 +56,17 @@ import java.time.LocalDate;
 public class TrackerController {
 
     private final ComidaService comidaService;
+    private final ResumenNutricionalService resumenNutricionalService;
+    private final ResumenDiarioService resumenDiarioService;
+    private final SugerenciasComidaService sugerenciasComidaService;
 
-    public TrackerController(ComidaService comidaService){
+    public TrackerController(ComidaService comidaService, ResumenNutricionalService resumenNutricionalService,
+                             ResumenDiarioService resumenDiarioService,
+                             SugerenciasComidaService sugerenciasComidaService){
         this.comidaService = comidaService;
+        this.resumenNutricionalService = resumenNutricionalService;
+        this.resumenDiarioService = resumenDiarioService;
+        this.sugerenciasComidaService = sugerenciasComidaService;
     }
 
     @PostMapping("/comida")
@@ -72,6 +101,107 @@ public class TrackerController {
         return ResponseEntity.ok(comidaService.registrarNuevaComida(jwt, registroComidaDTO));
     }
 
+    @PostMapping("/comida/alimento")
+    @Operation(
+            summary = "Registra nueva entrada de comida desde un alimento del catalogo",
+            description = "Crea una nueva entrada de comida para el usuario o la usuaria actual. " +
+                    "La informacion nutricional se calcula escalando los nutrientes por 100 g del alimento a la cantidad en gramos"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Comida registrada satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = ObtenerComidaDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Datos ingresados inválidos o error de validación"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Alimento no existe en el catalogo"
+            )
+    })
+    public ResponseEntity<ObtenerComidaDTO> registrarComidaDesdeAlimento(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Alimento, cantidad y datos de la comida",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = RegistroComidaAlimentoDTO.class))
+            )
+            @RequestBody @Valid @NotNull RegistroComidaAlimentoDTO registroComidaAlimentoDTO){
+
+        return ResponseEntity.ok(comidaService.registrarComidaDesdeAlimento(jwt, registroComidaAlimentoDTO));
+    }
+
+    @PostMapping("/comida/lote")
+    @Operation(
+            summary = "Registra un lote de entradas de comida",
+            description = "Registra hasta 100 comidas en una sola operación, por ejemplo al sincronizar registros hechos sin conexión. " +
+                    "Las comidas cuyo nombre ya existe entre las del usuario o la usuaria, o se repite dentro del lote, se informan como CONFLICTO y no se registran"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote procesado, con el resultado de cada comida",
+                    content = @Content(schema = @Schema(implementation = ResultadoLoteComidasDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lote vacío, con más de 100 comidas o con datos inválidos"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<ResultadoLoteComidasDTO> registrarLoteComidas(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Comidas a registrar",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = RegistroLoteComidasDTO.class))
+            )
+            @RequestBody @Valid @NotNull RegistroLoteComidasDTO registroLoteComidasDTO){
+
+        return ResponseEntity.ok(comidaService.registrarLoteComidas(jwt, registroLoteComidasDTO));
+    }
+
+    @GetMapping("/comida/sugerencias")
+    @Operation(
+            summary = "Autocompletar nombres de comidas y alimentos",
+            description = "Retorna nombres de comidas propias y alimentos del catalogo con alguna palabra que empieza con el texto ingresado. " +
+                    "Si no hay coincidencias y el texto tiene al menos 3 caracteres, busca nombres similares para tolerar errores de tipeo"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sugerencias retornadas satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = SugerenciasComidaDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Texto vacío, demasiado largo o límite fuera de rango"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<SugerenciasComidaDTO> obtenerSugerencias(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Texto ingresado", example = "pol")
+            @RequestParam @NotBlank @Size(max = 100) String texto,
+            @Parameter(description = "Máximo de sugerencias por tipo (1 a 20)")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20) int limite) {
+
+        return ResponseEntity.ok(sugerenciasComidaService.sugerir(jwt, texto, limite));
+    }
+
     @GetMapping("/historial")
     @Operation(
             summary = "Obtener historial de comidas",
@@ -94,9 +224,109 @@ public class TrackerController {
             @Parameter(description = "Dia inicial para filtro (Formato de fecha ISO: YYYY-MM-DD)")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "Dia final para filtro (Formato de fecha ISO: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Gramos minimos de proteinas por comida")
+            @RequestParam(required = false) @PositiveOrZero BigDecimal proteinasMin) {
+
+        return ResponseEntity.ok(comidaService.obtenerListaComidas(jwt, paginacion, startDate, endDate, proteinasMin));
+    }
+
+    @GetMapping(value = "/historial", params = "cursor")
+    @Operation(
+            summary = "Obtener historial de comidas por cursor",
+            description = "Alternativa a la paginación por número de página para historiales extensos. " +
+                    "Enviar cursor vacío para la primera página y luego el nextCursor retornado. No calcula el total de elementos"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Historial de comida retornado satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = PaginaCursorComidasDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o tamaño de página inválido"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<PaginaCursorComidasDTO> obtenerListaComidasConCursor(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Cursor opaco retornado por la página anterior (vacío para la primera página)")
+            @RequestParam String cursor,
+            @Parameter(description = "Cantidad de comidas por página")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @Parameter(description = "Dia inicial para filtro (Formato de fecha ISO: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Dia final para filtro (Formato de fecha ISO: YYYY-MM-DD)")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
-        return ResponseEntity.ok(comidaService.obtenerListaComidas(jwt, paginacion, startDate, endDate));
+        return ResponseEntity.ok(comidaService.obtenerListaComidasConCursor(jwt, cursor, size, startDate, endDate));
+    }
+
+    @GetMapping("/resumen")
+    @Operation(
+            summary = "Obtener resumen nutricional",
+            description = "Retorna los totales de nutrientes por día o por semana (lunes a domingo) dentro de un rango de fechas. " +
+                    "Por semana, startDate se ajusta al lunes de su semana. " +
+                    "Si no se entregan fechas, se resumen los últimos 7 días (DIA) o las últimas 4 semanas (SEMANA)"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resumen nutricional retornado satisfactoriamente",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ResumenNutricionalDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Agrupación o rango de fechas inválido"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No Autorizado/a - JWT token inválido o no encontrado"
+            )
+    })
+    public ResponseEntity<List<ResumenNutricionalDTO>> obtenerResumenNutricional(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Agrupación de los totales")
+            @RequestParam(defaultValue = "DIA") AgrupacionResumen agrupacion,
+            @Parameter(description = "Dia inicial para filtro (Formato de fecha ISO: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Dia final para filtro (Formato de fecha ISO: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(resumenNutricionalService.obtenerResumen(jwt, agrupacion, startDate, endDate));
+    }
+
+    @PostMapping("/resumen/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Reconstruir resumen diario (Solo Admins)",
+            description = "Recalcula el resumen diario desde las comidas registradas para un user, o para todos si no se entrega userId. Requiere rol de Administrador/a",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resumen diario reconstruido satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = ResumenReconstruidoDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "No autorizado/a - JWT token inválido o no encontrado"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Acceso denegado, se requiere el rol de Admin"
+            )
+    })
+    public ResponseEntity<ResumenReconstruidoDTO> reconstruirResumenDiario(
+            @Parameter(description = "User ID a reconstruir (vacío para todos)")
+            @RequestParam(required = false) Long userId){
+
+        return ResponseEntity.ok(resumenDiarioService.reconstruir(userId));
     }
 
     @GetMapping("/favoritas")
@@ -125,7 +355,7 @@ public class TrackerController {
     @PatchMapping("/comida")
     @Operation(
             summary = "Actualizar entrada de comida",
-            description = "Actualiza una entrada de comida existente. Solo se actualizan los parametros entregados."
+            description = "Actualiza una entrada de comida propia identificada por su nombre. Solo se actualizan los parametros entregados."
     )
     @ApiResponses({
             @ApiResponse(
@@ -140,9 +370,14 @@ public class TrackerController {
             @ApiResponse(
                     responseCode = "404",
                     description = "La comida objetivo no fue encontrada"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya existe otra comida propia con el nombre nuevo"
             )
     })
     public ResponseEntity<ObtenerComidaDTO> actualizarComida(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Datos para actualizar en la comida",
                     required = true,
@@ -150,13 +385,51 @@ public class TrackerController {
             )
             @RequestBody @Valid @NotNull ActualizarComidaDTO actualizarComidaDTO){
 
-        return ResponseEntity.ok(comidaService.actualizarComida(actualizarComidaDTO));
+        return ResponseEntity.ok(comidaService.actualizarComida(jwt, actualizarComidaDTO));
+    }
+
+    @PatchMapping("/comida/{comidaId}")
+    @Operation(
+            summary = "Actualizar entrada de comida por id",
+            description = "Actualiza una entrada de comida propia identificada por su id. Solo se actualizan los parametros entregados."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Entrada de comida actualizada satisfactoriamente",
+                    content = @Content(schema = @Schema(implementation = ObtenerComidaDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Datos ingresados no son válidos"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "La comida objetivo no fue encontrada"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya existe otra comida propia con el nombre nuevo"
+            )
+    })
+    public ResponseEntity<ObtenerComidaDTO> actualizarComidaPorId(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Id de la comida que se desea actualizar", required = true)
+            @PathVariable Long comidaId,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Datos para actualizar en la comida",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = ActualizarComidaPorIdDTO.class))
+            )
+            @RequestBody @Valid @NotNull ActualizarComidaPorIdDTO actualizarComidaDTO){
+
+        return ResponseEntity.ok(comidaService.actualizarComidaPorId(jwt, comidaId, actualizarComidaDTO));
     }
 
     @DeleteMapping("/comida")
     @Operation(
             summary = "Eliminar entrada de comida",
-            description = "Elimina una entrada de comida ingresando su nombre"
+            description = "Elimina una entrada de comida propia ingresando su nombre"
     )
     @ApiResponses({
             @ApiResponse(
@@ -173,10 +446,35 @@ public class TrackerController {
             )
     })
     public ResponseEntity<Void> eliminarComida(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
             @Parameter(description = "Nombre de la comida que se desea eliminar", required = true)
             @RequestParam @NotBlank String nombreComida){
 
-        comidaService.eliminarComida(nombreComida);
+        comidaService.eliminarComida(jwt, nombreComida);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/comida/{comidaId}")
+    @Operation(
+            summary = "Eliminar entrada de comida por id",
+            description = "Elimina una entrada de comida propia ingresando su id"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Entrada de comida eliminada satisfactoriamente"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "La comida objetivo no fue encontrada"
+            )
+    })
+    public ResponseEntity<Void> eliminarComidaPorId(
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Id de la comida que se desea eliminar", required = true)
+            @PathVariable Long comidaId){
+
+        comidaService.eliminarComidaPorId(jwt, comidaId);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.mournlied.nutrition_tracker_api.domain.alimento;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "alimentos")
+@Getter
+@NoArgsConstructor
+public class Alimento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long alimentoId;
+
+    private String nombre;
+
+    // Mismas columnas que comidas (V21), pero por 100 g de alimento
+    @Embedded
+    private NutrientesComida nutrientesPor100g;
+
+    public Alimento(RegistroAlimentoDTO dto) {
+        this.nombre = dto.nombre();
+        this.nutrientesPor100g = new NutrientesComida(
+                dto.calorias(),
+                dto.proteinas(),
+                dto.carbohidratosTotales(),
+                dto.azucares(),
+                dto.grasaSaturada(),
+                dto.grasaTrans(),
+                dto.fibra(),
+                dto.sodio());
+    }
+}
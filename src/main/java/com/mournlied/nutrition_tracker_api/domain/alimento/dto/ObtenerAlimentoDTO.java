@@ -0,0 +1,13 @@
+package com.mournlied.nutrition_tracker_api.domain.alimento.dto;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.Alimento;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+
+public record ObtenerAlimentoDTO(
+        Long alimentoId,
+        String nombre,
+        NutrientesComida nutrientesPor100g) {
+    public ObtenerAlimentoDTO(Alimento alimento){
+        this(alimento.getAlimentoId(), alimento.getNombre(), alimento.getNutrientesPor100g());
+    }
+}
@@ -0,0 +1,49 @@
+package com.mournlied.nutrition_tracker_api.domain.alimento.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Datos para registrar un alimento en el catalogo, con nutrientes por 100 g")
+public record RegistroAlimentoDTO(
+        @Schema(description = "Nombre del alimento", example = "Filete de pollo")
+        @NotBlank
+        @Size(max = 150)
+        String nombre,
+
+        @Schema(description = "Calorias por 100 g", example = "165")
+        @NotNull @PositiveOrZero
+        BigDecimal calorias,
+
+        @Schema(description = "Proteinas en gramos por 100 g", example = "31")
+        @NotNull @PositiveOrZero
+        BigDecimal proteinas,
+
+        @Schema(description = "Carbohidratos totales en gramos por 100 g", example = "0")
+        @NotNull @PositiveOrZero
+        BigDecimal carbohidratosTotales,
+
+        @Schema(description = "Azucares en gramos por 100 g", example = "0")
+        @NotNull @PositiveOrZero
+        BigDecimal azucares,
+
+        @Schema(description = "Grasa saturada en gramos por 100 g", example = "1")
+        @NotNull @PositiveOrZero
+        BigDecimal grasaSaturada,
+
+        @Schema(description = "Grasa trans en gramos por 100 g", example = "0")
+        @NotNull @PositiveOrZero
+        BigDecimal grasaTrans,
+
+        @Schema(description = "Fibra en gramos por 100 g", example = "0")
+        @NotNull @PositiveOrZero
+        BigDecimal fibra,
+
+        @Schema(description = "Sodio en miligramos por 100 g", example = "74")
+        @NotNull @PositiveOrZero
+        BigDecimal sodio) {
+}
@@ -0,0 +1,6 @@
+package com.mournlied.nutrition_tracker_api.domain.alimento.dto;
+
+public record SugerenciaAlimentoDTO(
+        Long alimentoId,
+        String nombre) {
+}
@@ -0,0 +1,17 @@
+package com.mournlied.nutrition_tracker_api.domain.comida;
+
+// Unidad de date_trunc en Postgres; las semanas empiezan el lunes (ISO 8601)
+public enum AgrupacionResumen {
+    DIA("day"),
+    SEMANA("week");
+
+    private final String unidadPostgres;
+
+    AgrupacionResumen(String unidadPostgres) {
+        this.unidadPostgres = unidadPostgres;
+    }
+
+    public String unidadPostgres() {
+        return unidadPostgres;
+    }
+}
@@ -14,13 +14,14 @@ import java.util.Map;
 @Entity
 @Table(name = "comidas")
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Comida {
 
     @Id
     @Column(name = "comida_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con pool de 50 ids (V18): IDENTITY impide que Hibernate agrupe los INSERT en batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comidas_seq")
+    @SequenceGenerator(name = "comidas_seq", sequenceName = "comidas_comida_id_seq", allocationSize = 50)
     private Long comidaId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -47,20 +48,51 @@ public class Comida {
 
     @Type(JsonType.class)
     @Column(name = "info_nutricional", columnDefinition = "jsonb")
-    @Setter
     private Map<String, Object> informacionNutricional;
 
+    // Columnas numericas derivadas de informacionNutricional (V21), se recalculan en cada asignacion
+    @Embedded
+    private NutrientesComida nutrientes = NutrientesComida.CERO;
+
     @Setter
     private Boolean esFavorita;
 
+    // Alimento del catalogo desde el que se calcularon los nutrientes (V22), null si los ingreso el user
+    @Column(name = "alimento_id")
+    @Setter
+    private Long alimentoId;
+
+    public Comida(Long comidaId, User user, LocalDate fechaCreacionComida, String nombreComida,
+                  Integer cantidadEnGramos, String descripcion, String tipoComida,
+                  Map<String, Object> informacionNutricional, Boolean esFavorita) {
+        this.comidaId = comidaId;
+        this.user = user;
+        this.fechaCreacionComida = fechaCreacionComida;
+        this.nombreComida = nombreComida;
+        this.cantidadEnGramos = cantidadEnGramos;
+        this.descripcion = descripcion;
+        this.tipoComida = tipoComida;
+        setInformacionNutricional(informacionNutricional);
+        this.esFavorita = esFavorita;
+    }
+
     public Comida(RegistroComidaDTO dto, User user) {
+        this(dto, user, LocalDate.now());
+    }
+
+    public Comida(RegistroComidaDTO dto, User user, LocalDate fechaCreacionComida) {
         this.nombreComida = dto.nombreComida();
         this.cantidadEnGramos = dto.cantidadEnGramos();
         this.descripcion = dto.descripcion();
         this.tipoComida = dto.tipoComida();
-        this.informacionNutricional = dto.informacionNutricional();
+        setInformacionNutricional(dto.informacionNutricional());
         this.esFavorita = dto.esFavorita();
         this.user = user;
-        this.fechaCreacionComida = LocalDate.now();
+        this.fechaCreacionComida = fechaCreacionComida;
+    }
+
+    public void setInformacionNutricional(Map<String, Object> informacionNutricional) {
+        this.informacionNutricional = informacionNutricional;
+        this.nutrientes = NutrientesComida.desde(informacionNutricional);
     }
 }
@@ -0,0 +1,45 @@
+package com.mournlied.nutrition_tracker_api.domain.comida;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import jakarta.validation.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posicion de la ultima comida entregada en el historial: (fecha, id) en el mismo orden que la consulta.
+// Se expone al cliente como un token opaco en Base64 url-safe.
+public record CursorComida(LocalDate fechaCreacionComida, Long comidaId) {
+
+    private static final char SEPARADOR = '_';
+
+    public static CursorComida primeraPagina(LocalDate endDate) {
+        return new CursorComida(endDate, Long.MAX_VALUE);
+    }
+
+    public static CursorComida desde(ObtenerComidaDTO comida) {
+        return new CursorComida(comida.fechaCreacionComida(), comida.comidaId());
+    }
+
+    public String codificar() {
+
+        String valor = fechaCreacionComida.toString() + SEPARADOR + comidaId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorComida decodificar(String cursor) {
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) throw new ValidationException("Cursor inválido.");
+
+            return new CursorComida(
+                    LocalDate.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.mournlied.nutrition_tracker_api.domain.comida;
+
+public enum EstadoRegistroComida {
+    REGISTRADA,
+    CONFLICTO
+}
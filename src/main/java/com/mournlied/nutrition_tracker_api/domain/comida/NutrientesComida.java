@@ -0,0 +1,105 @@
+package com.mournlied.nutrition_tracker_api.domain.comida;
+
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Nutrientes agregables de una comida. Misma regla que nutriente_numerico (V16): ausente o no numerico = 0.
+// Embebido en Comida como columnas numericas de comidas (V21).
+@Embeddable
+public record NutrientesComida(
+        BigDecimal calorias,
+        BigDecimal proteinas,
+        BigDecimal carbohidratosTotales,
+        BigDecimal azucares,
+        BigDecimal grasaSaturada,
+        BigDecimal grasaTrans,
+        BigDecimal fibra,
+        BigDecimal sodio) {
+
+    private static final Pattern NUMERO = Pattern.compile("^\\s*-?[0-9]+(\\.[0-9]+)?\\s*$");
+
+    public static final NutrientesComida CERO = new NutrientesComida(
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public static NutrientesComida desde(Map<String, Object> info) {
+
+        if (info == null) return CERO;
+
+        return new NutrientesComida(
+                valor(info, "calorias"),
+                valor(info, "proteinas"),
+                valor(info, "carbohidratos", "totales"),
+                valor(info, "carbohidratos", "azucares"),
+                valor(info, "grasa", "saturada"),
+                valor(info, "grasa", "trans"),
+                valor(info, "fibra"),
+                valor(info, "sodio"));
+    }
+
+    // Inverso de desde(): info_nutricional de una comida cuyos nutrientes calcula el servidor
+    public Map<String, Object> comoInformacionNutricional() {
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("calorias", calorias);
+        info.put("proteinas", proteinas);
+        info.put("carbohidratos", Map.of("totales", carbohidratosTotales, "azucares", azucares));
+        info.put("grasa", Map.of("saturada", grasaSaturada, "trans", grasaTrans));
+        info.put("fibra", fibra);
+        info.put("sodio", sodio);
+        return info;
+    }
+
+    public NutrientesComida sumar(NutrientesComida otro) {
+
+        return new NutrientesComida(
+                calorias.add(otro.calorias),
+                proteinas.add(otro.proteinas),
+                carbohidratosTotales.add(otro.carbohidratosTotales),
+                azucares.add(otro.azucares),
+                grasaSaturada.add(otro.grasaSaturada),
+                grasaTrans.add(otro.grasaTrans),
+                fibra.add(otro.fibra),
+                sodio.add(otro.sodio));
+    }
+
+    public NutrientesComida restar(NutrientesComida otro) {
+
+        return new NutrientesComida(
+                calorias.subtract(otro.calorias),
+                proteinas.subtract(otro.proteinas),
+                carbohidratosTotales.subtract(otro.carbohidratosTotales),
+                azucares.subtract(otro.azucares),
+                grasaSaturada.subtract(otro.grasaSaturada),
+                grasaTrans.subtract(otro.grasaTrans),
+                fibra.subtract(otro.fibra),
+                sodio.subtract(otro.sodio));
+    }
+
+    public NutrientesComida negar() {
+        return CERO.restar(this);
+    }
+
+    public boolean esCero() {
+        return Stream.of(calorias, proteinas, carbohidratosTotales, azucares, grasaSaturada, grasaTrans, fibra, sodio)
+                .allMatch(valor -> valor.signum() == 0);
+    }
+
+    private static BigDecimal valor(Map<String, Object> info, String... ruta) {
+
+        Object actual = info;
+        for (String clave : ruta) {
+            if (!(actual instanceof Map<?, ?> mapa)) return BigDecimal.ZERO;
+            actual = mapa.get(clave);
+        }
+
+        if (actual instanceof Number numero) return new BigDecimal(numero.toString());
+        if (actual instanceof String texto && NUMERO.matcher(texto).matches()) return new BigDecimal(texto.trim());
+        return BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mournlied.nutrition_tracker_api.domain.comida;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Rollup por user y dia. Se mantiene con deltas desde ResumenDiarioService, nunca se modifica via JPA.
+@Entity
+@Table(name = "resumen_diario")
+@IdClass(ResumenDiario.ResumenDiarioId.class)
+@Getter
+@NoArgsConstructor
+public class ResumenDiario {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private LocalDate fecha;
+
+    private Integer cantidadComidas;
+
+    private BigDecimal calorias;
+
+    private BigDecimal proteinas;
+
+    private BigDecimal carbohidratosTotales;
+
+    private BigDecimal azucares;
+
+    private BigDecimal grasaSaturada;
+
+    private BigDecimal grasaTrans;
+
+    private BigDecimal fibra;
+
+    private BigDecimal sodio;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class ResumenDiarioId implements Serializable {
+        private Long userId;
+        private LocalDate fecha;
+    }
+}
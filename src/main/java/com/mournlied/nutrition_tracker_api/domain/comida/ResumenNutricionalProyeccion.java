@@ -0,0 +1,27 @@
+package com.mournlied.nutrition_tracker_api.domain.comida;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ResumenNutricionalProyeccion {
+
+    LocalDate getInicioPeriodo();
+
+    Long getCantidadComidas();
+
+    BigDecimal getCalorias();
+
+    BigDecimal getProteinas();
+
+    BigDecimal getCarbohidratosTotales();
+
+    BigDecimal getAzucares();
+
+    BigDecimal getGrasaSaturada();
+
+    BigDecimal getGrasaTrans();
+
+    BigDecimal getFibra();
+
+    BigDecimal getSodio();
+}
@@ -43,4 +43,14 @@ public record ActualizarComidaDTO(
 
         @Schema(description = "Cambiar el estado de favorita (Opcional)", example = "false")
         Boolean esFavorita) {
+
+    public ActualizarComidaPorIdDTO sinNombreOriginal(){
+        return new ActualizarComidaPorIdDTO(
+                nombreComidaNuevo,
+                cantidadEnGramos,
+                descripcion,
+                tipoComida,
+                informacionNutricional,
+                esFavorita);
+    }
 }
@@ -0,0 +1,31 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Datos para actualizar una comida ya existente, identificada por su id en la ruta")
+public record ActualizarComidaPorIdDTO(
+        @Schema(description = "Nombre actualizado para la comida (Opcional)", example = "Nombre nuevo")
+        String nombreComidaNuevo,
+
+        @Schema(description = "Cantidad actualizada en gramos (Opcional)", example = "200")
+        Integer cantidadEnGramos,
+
+        @Schema(description = "Descripcion actualizada (Opcional)", example = "Nueva descripcion")
+        String descripcion,
+
+        @Schema(description = "Tipo de comida actualizada (Opcional)", example = "Cena")
+        String tipoComida,
+
+        @Schema(description = "Información nutricional actualizada (Opcional)", example = """
+                {
+                    "calorias": 180,
+                    "proteinas": 40
+                }
+                """)
+        Map<String, Object> informacionNutricional,
+
+        @Schema(description = "Cambiar el estado de favorita (Opcional)", example = "false")
+        Boolean esFavorita) {
+}
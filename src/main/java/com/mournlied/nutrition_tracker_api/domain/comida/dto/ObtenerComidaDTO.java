@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.util.Map;
 
 public record ObtenerComidaDTO(
+        Long comidaId,
         String nombreComida,
         LocalDate fechaCreacionComida,
         Integer cantidadEnGramos,
@@ -14,6 +15,7 @@ public record ObtenerComidaDTO(
         Map<String, Object> informacionNutricional) {
     public ObtenerComidaDTO(Comida comida){
         this(
+                comida.getComidaId(),
                 comida.getNombreComida(),
                 comida.getFechaCreacionComida(),
                 comida.getCantidadEnGramos(),
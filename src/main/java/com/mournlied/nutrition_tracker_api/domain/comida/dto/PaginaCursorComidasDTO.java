@@ -0,0 +1,10 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import java.util.List;
+
+public record PaginaCursorComidasDTO(
+        List<ObtenerComidaDTO> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
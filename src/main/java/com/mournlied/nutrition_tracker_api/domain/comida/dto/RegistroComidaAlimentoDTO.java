@@ -0,0 +1,34 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+@Schema(description = "Datos para registrar una comida desde un alimento del catalogo. " +
+        "La informacion nutricional se calcula desde los nutrientes por 100 g del alimento")
+public record RegistroComidaAlimentoDTO(
+        @Schema(description = "Nombre de la comida", example = "Almuerzo de pollo")
+        @NotBlank
+        String nombreComida,
+
+        @Schema(description = "ID del alimento en el catalogo", example = "1")
+        @NotNull
+        Long alimentoId,
+
+        @Schema(description = "Cantidad en gramos", example = "150")
+        @NotNull
+        @Positive
+        Integer cantidadEnGramos,
+
+        @Schema(description = "Descripción adicional o notas", example = "Sasonado con sal y pimienta")
+        String descripcion,
+
+        @Schema(description = "Tipo de comida", example = "Almuerzo", allowableValues = {"Desayuno", "Almuerzo", "Cena", "Snack"})
+        @NotNull
+        String tipoComida,
+
+        @Schema(description = "Si desea marcar la comida como favorita", example = "false")
+        @NotNull
+        Boolean esFavorita) {
+}
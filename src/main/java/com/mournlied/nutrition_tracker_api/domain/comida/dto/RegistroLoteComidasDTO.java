@@ -0,0 +1,20 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Lote de comidas a registrar en una sola operación")
+public record RegistroLoteComidasDTO(
+        @ArraySchema(
+                schema = @Schema(implementation = RegistroComidaDTO.class),
+                arraySchema = @Schema(description = "Comidas a registrar (máximo 100)"))
+        @NotEmpty
+        @Size(max = 100)
+        List<@Valid @NotNull RegistroComidaDTO> comidas) {
+}
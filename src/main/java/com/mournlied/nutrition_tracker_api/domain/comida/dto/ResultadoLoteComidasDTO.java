@@ -0,0 +1,17 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado del registro de un lote de comidas")
+public record ResultadoLoteComidasDTO(
+        @Schema(description = "Cantidad de comidas registradas", example = "9")
+        int registradas,
+
+        @Schema(description = "Cantidad de comidas rechazadas por nombre repetido", example = "1")
+        int conflictos,
+
+        @Schema(description = "Resultado por comida, en el mismo orden del lote enviado")
+        List<ResultadoRegistroComidaDTO> resultados) {
+}
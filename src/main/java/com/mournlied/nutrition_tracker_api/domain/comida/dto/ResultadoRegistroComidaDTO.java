@@ -0,0 +1,19 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.EstadoRegistroComida;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado del registro de una comida dentro de un lote")
+public record ResultadoRegistroComidaDTO(
+        @Schema(description = "Posición de la comida en el lote enviado", example = "0")
+        int indice,
+
+        @Schema(description = "Nombre de la comida", example = "Filete de pollo a la parrilla")
+        String nombreComida,
+
+        @Schema(description = "REGISTRADA o CONFLICTO si ya existe una comida con ese nombre", example = "REGISTRADA")
+        EstadoRegistroComida estado,
+
+        @Schema(description = "Comida registrada (vacío en caso de conflicto)")
+        ObtenerComidaDTO comida) {
+}
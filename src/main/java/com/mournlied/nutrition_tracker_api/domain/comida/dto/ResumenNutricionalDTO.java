@@ -0,0 +1,33 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.ResumenNutricionalProyeccion;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ResumenNutricionalDTO(
+        LocalDate inicioPeriodo,
+        Long cantidadComidas,
+        BigDecimal calorias,
+        BigDecimal proteinas,
+        Carbohidratos carbohidratos,
+        Grasa grasa,
+        BigDecimal fibra,
+        BigDecimal sodio) {
+
+    public record Carbohidratos(BigDecimal totales, BigDecimal azucares) {}
+
+    public record Grasa(BigDecimal saturada, BigDecimal trans) {}
+
+    public ResumenNutricionalDTO(ResumenNutricionalProyeccion resumen){
+        this(
+                resumen.getInicioPeriodo(),
+                resumen.getCantidadComidas(),
+                resumen.getCalorias(),
+                resumen.getProteinas(),
+                new Carbohidratos(resumen.getCarbohidratosTotales(), resumen.getAzucares()),
+                new Grasa(resumen.getGrasaSaturada(), resumen.getGrasaTrans()),
+                resumen.getFibra(),
+                resumen.getSodio());
+    }
+}
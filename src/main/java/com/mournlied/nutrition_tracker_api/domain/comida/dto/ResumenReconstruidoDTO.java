@@ -0,0 +1,6 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+public record ResumenReconstruidoDTO(
+        Long userId,
+        Integer diasReconstruidos) {
+}
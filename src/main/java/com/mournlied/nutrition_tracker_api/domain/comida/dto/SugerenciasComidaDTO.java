@@ -0,0 +1,10 @@
+package com.mournlied.nutrition_tracker_api.domain.comida.dto;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.SugerenciaAlimentoDTO;
+
+import java.util.List;
+
+public record SugerenciasComidaDTO(
+        List<String> comidas,
+        List<SugerenciaAlimentoDTO> alimentos) {
+}
@@ -0,0 +1,13 @@
+package com.mournlied.nutrition_tracker_api.domain.exportacion;
+
+// Columna SQL exportada con el nombre de campo que ve el cliente. Las columnas JSON se copian sin parsear.
+public record ColumnaExportacion(String campo, String columna, boolean esJson) {
+
+    public static ColumnaExportacion de(String campo, String columna) {
+        return new ColumnaExportacion(campo, columna, false);
+    }
+
+    public static ColumnaExportacion json(String campo, String columna) {
+        return new ColumnaExportacion(campo, columna, true);
+    }
+}
@@ -0,0 +1,15 @@
+package com.mournlied.nutrition_tracker_api.domain.importacion.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Registro del archivo que no se importó")
+public record ErrorImportacionDTO(
+        @Schema(description = "Número de registro dentro del archivo, comenzando en 1", example = "42")
+        long registro,
+
+        @Schema(description = "Nombre de la comida, si se pudo leer", example = "Filete de pollo a la parrilla")
+        String nombreComida,
+
+        @Schema(description = "Motivo del rechazo", example = "cantidadEnGramos: must not be null")
+        String mensaje) {
+}
@@ -0,0 +1,29 @@
+package com.mournlied.nutrition_tracker_api.domain.importacion.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de la importación de comidas")
+public record ResultadoImportacionDTO(
+        @Schema(description = "Registros leídos del archivo", example = "5000")
+        long registrosLeidos,
+
+        @Schema(description = "Comidas registradas", example = "4990")
+        long registradas,
+
+        @Schema(description = "Comidas omitidas porque su nombre ya existía", example = "6")
+        long conflictos,
+
+        @Schema(description = "Registros con formato o datos inválidos", example = "4")
+        long invalidos,
+
+        @Schema(description = "Detalle de los registros inválidos o en conflicto (a lo más 100)")
+        List<ErrorImportacionDTO> errores,
+
+        @Schema(description = "Duración de la importación en milisegundos", example = "2100")
+        long duracionMs,
+
+        @Schema(description = "Registros procesados por segundo", example = "2380.9")
+        double registrosPorSegundo) {
+}
@@ -32,7 +32,8 @@ public class HistorialPeso {
     @Column(name = "fecha_registro")
     private LocalDate fechaActual;
 
-    public HistorialPeso(RegistroHistorialPesoDTO dto) {
+    public HistorialPeso(RegistroHistorialPesoDTO dto, InformacionPersonal personalInfo) {
+        this.personalInfo = personalInfo;
         this.pesoActual = dto.pesoActual();
         this.fechaActual = LocalDate.now();
     }
@@ -27,7 +27,7 @@ public class InformacionPersonal {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @OneToMany(mappedBy = "personalInfo", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "personalInfo", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Setter
     private List<HistorialPeso> historialPeso;
 
@@ -0,0 +1,17 @@
+package com.mournlied.nutrition_tracker_api.domain.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface SeriePesoProyeccion {
+
+    LocalDate getInicioIntervalo();
+
+    Long getCantidadRegistros();
+
+    Integer getPesoMinimo();
+
+    BigDecimal getPesoPromedio();
+
+    Integer getPesoMaximo();
+}
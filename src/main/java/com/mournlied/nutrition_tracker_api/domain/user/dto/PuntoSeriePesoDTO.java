@@ -0,0 +1,26 @@
+package com.mournlied.nutrition_tracker_api.domain.user.dto;
+
+import com.mournlied.nutrition_tracker_api.domain.user.SeriePesoProyeccion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+public record PuntoSeriePesoDTO(
+        LocalDate inicioIntervalo,
+        LocalDate finIntervalo,
+        Long cantidadRegistros,
+        Integer pesoMinimo,
+        BigDecimal pesoPromedio,
+        Integer pesoMaximo) {
+
+    public PuntoSeriePesoDTO(SeriePesoProyeccion punto, LocalDate finIntervalo){
+        this(
+                punto.getInicioIntervalo(),
+                finIntervalo,
+                punto.getCantidadRegistros(),
+                punto.getPesoMinimo(),
+                punto.getPesoPromedio().setScale(2, RoundingMode.HALF_UP),
+                punto.getPesoMaximo());
+    }
+}
@@ -0,0 +1,11 @@
+package com.mournlied.nutrition_tracker_api.domain.user.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record SeriePesoDTO(
+        LocalDate startDate,
+        LocalDate endDate,
+        int diasPorIntervalo,
+        List<PuntoSeriePesoDTO> puntos) {
+}
@@ -0,0 +1,8 @@
+package com.mournlied.nutrition_tracker_api.domain.user.dto;
+
+public record UserAutenticadoDTO(
+        Long userId,
+        String correo,
+        Integer rolId,
+        Integer estado) {
+}
@@ -0,0 +1,36 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import com.mournlied.nutrition_tracker_api.infra.logging.ContadoresDescarteLogs;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Habilita @Timed en los services; los percentiles y el histograma de cada timer se configuran en application.yml
+@Configuration
+public class MetricasConfig {
+
+    public static final String TIMER_SERVICIO = "nutrition.servicio";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Eventos de log descartados por el muestreo de INFO o por el ring buffer del appender async lleno
+    @Bean
+    public MeterBinder metricasDescarteLogs() {
+        return registry -> {
+            FunctionCounter.builder("logging.eventos.descartados", ContadoresDescarteLogs.class,
+                            c -> ContadoresDescarteLogs.descartadosPorMuestreo())
+                    .tag("motivo", "muestreo")
+                    .register(registry);
+            FunctionCounter.builder("logging.eventos.descartados", ContadoresDescarteLogs.class,
+                            c -> ContadoresDescarteLogs.descartadosPorBufferLleno())
+                    .tag("motivo", "buffer_lleno")
+                    .register(registry);
+        };
+    }
+}
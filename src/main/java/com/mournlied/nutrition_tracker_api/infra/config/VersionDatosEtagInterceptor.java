@@ -0,0 +1,97 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+// GET condicional para las listas del user: el ETag sale de users.version_datos, que cada escritura incrementa.
+// Se resuelve antes del controller, asi un If-None-Match vigente responde 304 con una sola lectura por PK.
+// Incluye la fecha (los rangos por defecto dependen del dia) y la query (cada pagina o rango tiene su propio ETag).
+// La version se lee al abrir una transaccion readOnly que dura hasta completar la request: los services de estas
+// rutas se unen a ella, asi version y pagina salen de la misma conexion (la replica, si esta habilitada).
+// Al leer la version primero, la pagina nunca es mas vieja que su ETag aunque la replica este atrasada.
+@Component
+@Slf4j
+public class VersionDatosEtagInterceptor implements HandlerInterceptor {
+
+    private static final String ATRIBUTO_TRANSACCION = VersionDatosEtagInterceptor.class.getName() + ".TRANSACCION";
+
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DefaultTransactionDefinition transaccionLectura;
+
+    public VersionDatosEtagInterceptor(ProveedorUserAutenticado proveedorUserAutenticado,
+                                       UserRepository userRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
+        this.userRepository = userRepository;
+        this.transactionManager = transactionManager;
+        this.transaccionLectura = new DefaultTransactionDefinition();
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (!"GET".equals(request.getMethod())) return true;
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof Jwt jwt)) return true;
+
+        // Antes de abrir la transaccion: el user ya viene resuelto por el converter y su lookup lee del primario
+        Long userId = proveedorUserAutenticado.obtener(jwt).map(user -> user.userId()).orElse(null);
+        if (userId == null) return true;
+
+        TransactionStatus transaccion = transactionManager.getTransaction(transaccionLectura);
+        Long version;
+        try {
+            version = userRepository.findVersionDatosByUserId(userId).orElse(null);
+        } catch (RuntimeException e) {
+            transactionManager.rollback(transaccion);
+            throw e;
+        }
+        if (version == null) {
+            transactionManager.rollback(transaccion);
+            return true;
+        }
+
+        String etag = "\"" + userId + "-" + version + "-" + LocalDate.now().toEpochDay() + "-"
+                + Integer.toHexString(Objects.hashCode(request.getQueryString())) + "\"";
+
+        // Respuesta por user: solo cache privada y siempre revalidada
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            log.debug("ETag {} vigente, respondiendo 304", etag);
+            transactionManager.rollback(transaccion);
+            return false;
+        }
+        request.setAttribute(ATRIBUTO_TRANSACCION, transaccion);
+        return true;
+    }
+
+    // Solo lectura: se cierra con rollback, no hay nada que confirmar
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        if (request.getAttribute(ATRIBUTO_TRANSACCION) instanceof TransactionStatus transaccion) {
+            request.removeAttribute(ATRIBUTO_TRANSACCION);
+            transactionManager.rollback(transaccion);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final VersionDatosEtagInterceptor versionDatosEtagInterceptor;
+
+    public WebMvcConfig(VersionDatosEtagInterceptor versionDatosEtagInterceptor) {
+        this.versionDatosEtagInterceptor = versionDatosEtagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(versionDatosEtagInterceptor)
+                .addPathPatterns(
+                        "/api/tracker/historial",
+                        "/api/tracker/favoritas",
+                        "/api/personal/historial-peso",
+                        "/api/personal/historial-peso/serie");
+    }
+}
@@ -98,10 +98,12 @@ public class TratadorDeErrores extends ResponseEntityExceptionHandler {
 
         if (root.getMessage() != null) {
             String msg = root.getMessage().toLowerCase();
-            if (msg.contains("nombre_comida_unico")) {
-                mensaje = "Ya existe una comida registrada con ese nombre.";
+            if (msg.contains("nombre_comida_user_unico")) {
+                mensaje = "Ya tienes una comida registrada con ese nombre.";
             } else if (msg.contains("fk_comida_user")) {
                 mensaje = "El usuario no existe o ha sido eliminado.";
+            } else if (msg.contains("nombre_alimento_unico")) {
+                mensaje = "Ya existe un alimento registrado con ese nombre.";
             }
         }
 
@@ -0,0 +1,30 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Logback se configura antes que el contexto de Spring, por eso los descartes se acumulan aca
+// y MetricasConfig los publica como contadores de Micrometer.
+public final class ContadoresDescarteLogs {
+
+    private static final LongAdder MUESTREO = new LongAdder();
+    private static final LongAdder BUFFER_LLENO = new LongAdder();
+
+    private ContadoresDescarteLogs() {
+    }
+
+    static void registrarMuestreo() {
+        MUESTREO.increment();
+    }
+
+    static void registrarBufferLleno() {
+        BUFFER_LLENO.increment();
+    }
+
+    public static long descartadosPorMuestreo() {
+        return MUESTREO.sum();
+    }
+
+    public static long descartadosPorBufferLleno() {
+        return BUFFER_LLENO.sum();
+    }
+}
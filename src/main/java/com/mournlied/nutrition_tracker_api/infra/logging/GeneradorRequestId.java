@@ -0,0 +1,60 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ids de request ordenables y unicos por nodo, en base32 Crockford: 10 caracteres de tiempo (ms),
+// 4 de nodo y 8 de un contador monotono. Sin SecureRandom; cada id es un char[] y un String.
+public final class GeneradorRequestId {
+
+    static final int LONGITUD = 22;
+    private static final int LONGITUD_MAXIMA_ENTRANTE = 64;
+    private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final char[] nodo = new char[4];
+    private final AtomicLong contador = new AtomicLong();
+
+    public GeneradorRequestId(long nodo) {
+        escribir(this.nodo, 0, 4, nodo);
+    }
+
+    // Nodo configurado explicitamente o, si no hay, derivado de host y pid
+    public static GeneradorRequestId paraNodo(String nodoConfigurado) {
+
+        String identidad = nodoConfigurado == null || nodoConfigurado.isBlank()
+                ? Objects.requireNonNullElse(System.getenv("HOSTNAME"), "localhost") + ":" + ProcessHandle.current().pid()
+                : nodoConfigurado;
+        return new GeneradorRequestId(identidad.hashCode());
+    }
+
+    public String generar() {
+
+        char[] id = new char[LONGITUD];
+        escribir(id, 0, 10, System.currentTimeMillis());
+        System.arraycopy(nodo, 0, id, 10, 4);
+        escribir(id, 14, 8, contador.getAndIncrement());
+        return new String(id);
+    }
+
+    // Un id entrante solo se reutiliza si es corto y no puede inyectar nada en los logs
+    public static boolean esRequestIdValido(String requestId) {
+
+        if (requestId == null || requestId.isEmpty() || requestId.length() > LONGITUD_MAXIMA_ENTRANTE) return false;
+
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            boolean permitido = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!permitido) return false;
+        }
+        return true;
+    }
+
+    private static void escribir(char[] destino, int desde, int caracteres, long valor) {
+
+        for (int i = desde + caracteres - 1; i >= desde; i--) {
+            destino[i] = ALFABETO[(int) (valor & 31)];
+            valor >>>= 5;
+        }
+    }
+}
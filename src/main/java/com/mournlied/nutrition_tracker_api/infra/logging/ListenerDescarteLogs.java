@@ -0,0 +1,14 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+// El appender async de INFO y menores descarta sin bloquear cuando el ring buffer esta lleno y avisa aca
+public class ListenerDescarteLogs implements AppenderListener<ILoggingEvent> {
+
+    @Override
+    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        ContadoresDescarteLogs.registrarBufferLleno();
+    }
+}
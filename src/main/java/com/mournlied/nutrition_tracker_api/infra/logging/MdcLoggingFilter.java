@@ -1,29 +1,46 @@
 package com.mournlied.nutrition_tracker_api.infra.logging;
 
-import jakarta.servlet.*;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
+// Primer filtro de servlet, antes de la cadena de seguridad: los logs de la autenticacion (JWT, JWKS, lookup del user)
+// ya llevan requestId y una request rechazada con 401 tambien devuelve X-Request-Id.
+// El correo del user lo agrega MdcUserAutenticadoFilter dentro de la cadena, una vez autenticada la request.
 @Component
-public class MdcLoggingFilter implements Filter {
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MdcLoggingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_REQUEST_ID = "X-Request-Id";
+
+    private final GeneradorRequestId generadorRequestId;
+
+    public MdcLoggingFilter(@Value("${logging.request-id.nodo:}") String nodo) {
+        this.generadorRequestId = GeneradorRequestId.paraNodo(nodo);
+    }
 
     @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, ServletException {
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
 
-        try {
-            MDC.put("requestId", UUID.randomUUID().toString());
+        String requestId = request.getHeader(HEADER_REQUEST_ID);
+        if (!GeneradorRequestId.esRequestIdValido(requestId)) {
+            requestId = generadorRequestId.generar();
+        }
+        response.setHeader(HEADER_REQUEST_ID, requestId);
 
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.getPrincipal() instanceof Jwt jwt) {
-                MDC.put("correoUser", jwt.getClaimAsString("email"));
-            }
+        try {
+            MDC.put("requestId", requestId);
+            MDC.put("endpoint", request.getMethod() + " " + request.getRequestURI());
 
             chain.doFilter(request, response);
 
@@ -31,4 +48,4 @@ public class MdcLoggingFilter implements Filter {
             MDC.clear();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Se agrega a la cadena de seguridad despues de BearerTokenAuthenticationFilter, cuando el contexto ya tiene el JWT.
+// No es un @Component: solo corre dentro de la cadena, nunca como filtro de servlet.
+public class MdcUserAutenticadoFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!(auth != null && auth.getPrincipal() instanceof Jwt jwt)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            MDC.put("correoUser", jwt.getClaimAsString("email"));
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove("correoUser");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Muestreo de eventos INFO por request: WARN y superiores pasan siempre, igual que lo logueado fuera de una request.
+// Se decide con el hash del requestId, asi cada request conserva o descarta todas sus lineas INFO juntas.
+// porcentajesPorEndpoint: "GET /api/tracker/historial=10,POST /api/tracker/comida=50", por prefijo del endpoint del MDC.
+public class MuestreoLogsTurboFilter extends TurboFilter {
+
+    private int porcentajeInfo = 100;
+    private List<PorcentajeEndpoint> porcentajesPorEndpoint = List.of();
+
+    public void setPorcentajeInfo(int porcentajeInfo) {
+        this.porcentajeInfo = porcentajeInfo;
+    }
+
+    public void setPorcentajesPorEndpoint(String configuracion) {
+
+        List<PorcentajeEndpoint> porcentajes = new ArrayList<>();
+        if (configuracion != null) {
+            for (String entrada : configuracion.split(",")) {
+                if (entrada.isBlank()) continue;
+                int separador = entrada.lastIndexOf('=');
+                try {
+                    porcentajes.add(new PorcentajeEndpoint(entrada.substring(0, separador).trim(),
+                            Integer.parseInt(entrada.substring(separador + 1).trim())));
+                } catch (RuntimeException e) {
+                    addError("Porcentaje de muestreo invalido, se ignora: " + entrada);
+                }
+            }
+        }
+        // El prefijo mas largo gana
+        porcentajes.sort(Comparator.comparingInt((PorcentajeEndpoint p) -> p.prefijo().length()).reversed());
+        this.porcentajesPorEndpoint = List.copyOf(porcentajes);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+
+        // format null: es una consulta isInfoEnabled(), no un evento
+        if (level != Level.INFO || format == null) return FilterReply.NEUTRAL;
+        if (porcentajeInfo >= 100 && porcentajesPorEndpoint.isEmpty()) return FilterReply.NEUTRAL;
+        // Un logger con nivel mayor a INFO lo descarta igual; no cuenta como muestreado
+        if (!Level.INFO.isGreaterOrEqual(logger.getEffectiveLevel())) return FilterReply.NEUTRAL;
+
+        String requestId = MDC.get("requestId");
+        if (requestId == null) return FilterReply.NEUTRAL;
+
+        if (Math.floorMod(requestId.hashCode(), 100) < porcentajePara(MDC.get("endpoint"))) {
+            return FilterReply.NEUTRAL;
+        }
+        ContadoresDescarteLogs.registrarMuestreo();
+        return FilterReply.DENY;
+    }
+
+    private int porcentajePara(String endpoint) {
+
+        if (endpoint != null) {
+            for (PorcentajeEndpoint porcentaje : porcentajesPorEndpoint) {
+                if (endpoint.startsWith(porcentaje.prefijo())) return porcentaje.porcentaje();
+            }
+        }
+        return porcentajeInfo;
+    }
+
+    private record PorcentajeEndpoint(String prefijo, int porcentaje) {
+    }
+}
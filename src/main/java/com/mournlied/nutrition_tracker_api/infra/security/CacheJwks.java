@@ -0,0 +1,277 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.AsymmetricJWK;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.Key;
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Claves publicas del issuer por kid, ya convertidas a PublicKey, para verificar firmas de JWT sin salir a la red.
+// El JWKS se refresca en segundo plano con jitter, para que varias instancias no consulten al issuer a la vez,
+// y se respalda en un archivo local opcional: un issuer lento o caido no bloquea el inicio ni las requests.
+// Un kid desconocido (rotacion de claves) fuerza un refresco, como maximo una vez por intervalo minimo.
+@Slf4j
+public class CacheJwks implements JWSKeySelector<SecurityContext>, AutoCloseable {
+
+    private static final String RUTA_DESCUBRIMIENTO = "/.well-known/openid-configuration";
+
+    private final String issuerUri;
+    private final Path archivo;
+    private final Duration intervaloRefresco;
+    private final Duration jitterMaximo;
+    private final long intervaloMinimoRefrescoNanos;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService programador;
+    private final ReentrantLock lockRefresco = new ReentrantLock();
+
+    private volatile Claves claves;
+    private volatile URI jwksUri;
+    private volatile long ultimoIntentoRefresco;
+
+    public CacheJwks(String issuerUri, String jwksUri, String archivo,
+                     Duration intervaloRefresco, Duration jitterMaximo,
+                     Duration intervaloMinimoRefresco, Duration timeout) {
+
+        this.issuerUri = issuerUri;
+        this.jwksUri = (jwksUri == null || jwksUri.isBlank()) ? null : URI.create(jwksUri);
+        this.archivo = (archivo == null || archivo.isBlank()) ? null : Path.of(archivo);
+        this.intervaloRefresco = intervaloRefresco;
+        this.jitterMaximo = jitterMaximo;
+        this.intervaloMinimoRefrescoNanos = intervaloMinimoRefresco.toNanos();
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "jwks-refresco");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Permite el primer refresco a pedido sin esperar el intervalo minimo
+        this.ultimoIntentoRefresco = System.nanoTime() - intervaloMinimoRefrescoNanos;
+    }
+
+    // Arranca con el JWKS respaldado y refresca en segundo plano, sin esperar al issuer
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+
+        cargarArchivo();
+        programarRefresco(Duration.ZERO);
+    }
+
+    @Override
+    public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext contexto) throws KeySourceException {
+
+        String tipoClave = tipoClave(header.getAlgorithm());
+        if (tipoClave == null) return List.of();
+
+        return clavesPara(header.getKeyID()).stream()
+                .filter(clave -> tipoClave.equals(clave.getAlgorithm()))
+                .toList();
+    }
+
+    // Sin kid en el header se prueban todas las claves
+    public List<PublicKey> clavesPara(String kid) {
+
+        Claves actuales = claves;
+        List<PublicKey> encontradas = actuales == null ? List.of() : actuales.para(kid);
+
+        if (encontradas.isEmpty()) {
+            actuales = refrescarSiVencido(actuales);
+            encontradas = actuales == null ? List.of() : actuales.para(kid);
+        }
+
+        if (encontradas.isEmpty()) log.debug("Kid {} no existe en el JWKS del issuer", kid);
+        return encontradas;
+    }
+
+    // Si falla se conservan las claves anteriores: siguen sirviendo mientras el issuer no las rote
+    public boolean refrescar() {
+
+        lockRefresco.lock();
+        try {
+            ultimoIntentoRefresco = System.nanoTime();
+            JWKSet jwks = JWKSet.parse(descargar(resolverJwksUri()));
+            claves = Claves.desde(jwks);
+            log.info("JWKS refrescado con {} claves", claves.todas.size());
+            guardarArchivo(jwks);
+            return true;
+        } catch (IOException | ParseException | RuntimeException e) {
+            log.warn("No se pudo refrescar el JWKS del issuer: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lockRefresco.unlock();
+        }
+    }
+
+    boolean cargarArchivo() {
+
+        if (archivo == null || !Files.exists(archivo)) return false;
+
+        try {
+            claves = Claves.desde(JWKSet.parse(Files.readString(archivo, StandardCharsets.UTF_8)));
+            log.info("JWKS cargado desde {} con {} claves", archivo, claves.todas.size());
+            return true;
+        } catch (IOException | ParseException e) {
+            log.warn("No se pudo leer el JWKS respaldado en {}: {}", archivo, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        programador.shutdownNow();
+    }
+
+    private Claves refrescarSiVencido(Claves clavesObservadas) {
+
+        lockRefresco.lock();
+        try {
+            // Otro hilo pudo refrescar mientras se esperaba el lock
+            if (claves == clavesObservadas
+                    && System.nanoTime() - ultimoIntentoRefresco >= intervaloMinimoRefrescoNanos) {
+                refrescar();
+            }
+            return claves;
+        } finally {
+            lockRefresco.unlock();
+        }
+    }
+
+    private void programarRefresco(Duration demora) {
+
+        if (programador.isShutdown()) return;
+
+        programador.schedule(() -> {
+            refrescar();
+            programarRefresco(conJitter(intervaloRefresco));
+        }, demora.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private Duration conJitter(Duration intervalo) {
+
+        long jitterMillis = jitterMaximo.toMillis();
+        return jitterMillis <= 0 ? intervalo : intervalo.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+    }
+
+    private URI resolverJwksUri() throws IOException, InterruptedException, ParseException {
+
+        URI actual = jwksUri;
+        if (actual != null) return actual;
+
+        String issuer = issuerUri.endsWith("/") ? issuerUri.substring(0, issuerUri.length() - 1) : issuerUri;
+        Map<String, Object> configuracion = JSONObjectUtils.parse(descargar(URI.create(issuer + RUTA_DESCUBRIMIENTO)));
+        String uri = JSONObjectUtils.getString(configuracion, "jwks_uri");
+        if (uri == null) throw new ParseException("La configuracion del issuer no incluye jwks_uri", 0);
+
+        jwksUri = URI.create(uri);
+        return jwksUri;
+    }
+
+    private String descargar(URI uri) throws IOException, InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> respuesta = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (respuesta.statusCode() != 200) {
+            throw new IOException("HTTP " + respuesta.statusCode() + " desde " + uri);
+        }
+        return respuesta.body();
+    }
+
+    // Escribe a un temporal y lo mueve, para que otra instancia nunca lea un archivo a medio escribir
+    private void guardarArchivo(JWKSet jwks) {
+
+        if (archivo == null) return;
+
+        try {
+            if (archivo.getParent() != null) Files.createDirectories(archivo.getParent());
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            // toString() solo serializa los parametros publicos de cada clave
+            Files.writeString(temporal, jwks.toString(), StandardCharsets.UTF_8);
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo respaldar el JWKS en {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    private static String tipoClave(JWSAlgorithm algoritmo) {
+
+        if (JWSAlgorithm.Family.RSA.contains(algoritmo)) return "RSA";
+        if (JWSAlgorithm.Family.EC.contains(algoritmo)) return "EC";
+        return null;
+    }
+
+    private static final class Claves {
+
+        private final Map<String, List<PublicKey>> porKid;
+        private final List<PublicKey> todas;
+
+        private Claves(Map<String, List<PublicKey>> porKid, List<PublicKey> todas) {
+            this.porKid = porKid;
+            this.todas = todas;
+        }
+
+        static Claves desde(JWKSet jwks) {
+
+            Map<String, List<PublicKey>> porKid = new HashMap<>();
+            List<PublicKey> todas = new ArrayList<>();
+
+            for (JWK jwk : jwks.getKeys()) {
+                if (KeyUse.ENCRYPTION.equals(jwk.getKeyUse()) || !(jwk instanceof AsymmetricJWK asimetrica)) continue;
+                try {
+                    PublicKey clave = asimetrica.toPublicKey();
+                    todas.add(clave);
+                    if (jwk.getKeyID() != null) {
+                        porKid.computeIfAbsent(jwk.getKeyID(), kid -> new ArrayList<>()).add(clave);
+                    }
+                } catch (JOSEException e) {
+                    log.warn("Clave {} del JWKS no soportada: {}", jwk.getKeyID(), e.getMessage());
+                }
+            }
+
+            Map<String, List<PublicKey>> inmutable = new HashMap<>();
+            porKid.forEach((kid, lista) -> inmutable.put(kid, List.copyOf(lista)));
+            return new Claves(Map.copyOf(inmutable), List.copyOf(todas));
+        }
+
+        List<PublicKey> para(String kid) {
+            return kid == null ? todas : porKid.getOrDefault(kid, List.of());
+        }
+    }
+}
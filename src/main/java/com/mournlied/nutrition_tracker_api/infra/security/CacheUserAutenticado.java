@@ -0,0 +1,87 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Users resueltos por correo, acotados y con expiracion. UserService invalida al cambiar rol/estado o eliminar.
+@Component
+@Slf4j
+public class CacheUserAutenticado {
+
+    // Cache async: la carga corre fuera del lock del mapa. Con Cache.get(key, loader) la consulta JDBC
+    // quedaria dentro de un ConcurrentHashMap.compute (synchronized) y fijaria el carrier de un hilo virtual.
+    private final AsyncCache<String, UserAutenticadoDTO> usersPorCorreo;
+
+    public CacheUserAutenticado(
+            @Value("${seguridad.cache-users.tamano-maximo:10000}") long tamanoMaximo,
+            @Value("${seguridad.cache-users.ttl:5m}") Duration ttl) {
+
+        this.usersPorCorreo = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    // Si cargar retorna null no se guarda nada (ej: correo sin user registrado).
+    // Requests concurrentes por el mismo correo esperan la carga en curso en vez de repetirla.
+    public UserAutenticadoDTO obtener(String correo, Function<String, UserAutenticadoDTO> cargar) {
+
+        CompletableFuture<UserAutenticadoDTO> carga = new CompletableFuture<>();
+        CompletableFuture<UserAutenticadoDTO> enCurso = usersPorCorreo.asMap().putIfAbsent(correo, carga);
+        if (enCurso != null) return esperar(enCurso);
+
+        try {
+            UserAutenticadoDTO user = cargar.apply(correo);
+            carga.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            carga.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidar(String correo) {
+
+        if (correo == null) return;
+
+        log.debug("Invalidando user en cache: {}", correo);
+        usersPorCorreo.synchronous().invalidate(correo);
+    }
+
+    // Dentro de una transaccion invalida despues del commit, para que otra request no recargue el estado anterior
+    public void invalidarAlConfirmar(String correo) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar(correo);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidar(correo);
+            }
+        });
+    }
+
+    private static UserAutenticadoDTO esperar(CompletableFuture<UserAutenticadoDTO> carga) {
+
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.mournlied.nutrition_tracker_api.domain.user.Permiso;
+import com.mournlied.nutrition_tracker_api.domain.user.Rol;
+import com.mournlied.nutrition_tracker_api.repository.RolRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Clausura de la jerarquia de roles: rolId -> autoridades propias y heredadas, inmutable.
+// Roles, permisos y rol_hierarchy son datos semilla, por lo que se arma al iniciar y solo se reconstruye a pedido.
+// Un rolId desconocido fuerza una reconstruccion, como maximo una vez por intervalo: un user con un rol
+// inexistente no debe recargar la jerarquia completa desde la DB en cada request.
+@Component
+@Slf4j
+public class IndiceJerarquiaRoles {
+
+    private final RolRepository rolRepository;
+    private final long intervaloReconstruccionNanos;
+    private final ReentrantLock lockReconstruccion = new ReentrantLock();
+
+    private volatile Map<Integer, Set<GrantedAuthority>> autoridadesPorRol;
+    private volatile long construidoEn;
+
+    public IndiceJerarquiaRoles(
+            RolRepository rolRepository,
+            @Value("${seguridad.roles.intervalo-reconstruccion:30s}") Duration intervaloReconstruccion) {
+        this.rolRepository = rolRepository;
+        this.intervaloReconstruccionNanos = intervaloReconstruccion.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        reconstruir();
+    }
+
+    public Set<GrantedAuthority> autoridadesDe(Integer rolId) {
+
+        Map<Integer, Set<GrantedAuthority>> indice = autoridadesPorRol;
+        Set<GrantedAuthority> autoridades = indice == null ? null : indice.get(rolId);
+        if (autoridades != null) return autoridades;
+
+        // Rol creado despues de armar el indice o indice aun no construido
+        if (indice == null || !indice.containsKey(rolId)) {
+            reconstruirSiNoCambio(indice);
+            autoridades = autoridadesPorRol.get(rolId);
+        }
+
+        if (autoridades == null) {
+            log.warn("Rol id {} no existe en la jerarquia de roles", rolId);
+            return Set.of();
+        }
+        return autoridades;
+    }
+
+    public void reconstruir() {
+
+        lockReconstruccion.lock();
+        try {
+            autoridadesPorRol = construirIndice(rolRepository.findAllWithPermisosAndHeredados());
+            construidoEn = System.nanoTime();
+            log.info("Indice de jerarquia de roles construido con {} roles", autoridadesPorRol.size());
+        } finally {
+            lockReconstruccion.unlock();
+        }
+    }
+
+    private void reconstruirSiNoCambio(Map<Integer, Set<GrantedAuthority>> indiceObservado) {
+
+        lockReconstruccion.lock();
+        try {
+            // Otro hilo pudo reconstruir mientras se esperaba el lock
+            if (autoridadesPorRol == indiceObservado && (indiceObservado == null
+                    || System.nanoTime() - construidoEn >= intervaloReconstruccionNanos)) {
+                reconstruir();
+            }
+        } finally {
+            lockReconstruccion.unlock();
+        }
+    }
+
+    private static Map<Integer, Set<GrantedAuthority>> construirIndice(List<Rol> roles) {
+
+        Map<Integer, Rol> rolesPorId = new HashMap<>();
+        for (Rol rol : roles) {
+            rolesPorId.put(rol.getRolId(), rol);
+        }
+
+        Map<Integer, Set<GrantedAuthority>> indice = new HashMap<>();
+        for (Integer rolId : rolesPorId.keySet()) {
+            indice.put(rolId, Set.copyOf(autoridadesDeJerarquia(rolId, rolesPorId)));
+        }
+        return Map.copyOf(indice);
+    }
+
+    private static Set<GrantedAuthority> autoridadesDeJerarquia(Integer inicial, Map<Integer, Rol> rolesPorId) {
+
+        Set<Integer> visitados = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        stack.push(inicial);
+
+        while (!stack.isEmpty()) {
+            Integer actualId = stack.pop();
+            if (!visitados.add(actualId)) continue;
+
+            Rol actual = rolesPorId.get(actualId);
+            if (actual == null) continue;
+
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + actual.getNombreRol().toUpperCase()));
+            if (actual.getPermisos() != null) {
+                for (Permiso permiso : actual.getPermisos()) {
+                    authorities.add(new SimpleGrantedAuthority("PERM_" + permiso.getNombrePermiso().toUpperCase()));
+                }
+            }
+            if (actual.getRolesHeredados() != null) {
+                for (Rol hijo : actual.getRolesHeredados()) {
+                    stack.push(hijo.getRolId());
+                }
+            }
+        }
+        return authorities;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Tokens ya validados (firma y claims) por su valor, para no verificar la firma en cada request del mismo cliente.
+// Cada entrada expira a mas tardar en el exp del token; los tokens rechazados no se guardan.
+public class JwtDecoderCacheado implements JwtDecoder {
+
+    private final JwtDecoder delegado;
+    private final long ttlNanos;
+
+    // Sin Cache.get(key, loader): un kid desconocido refresca el JWKS por HTTP y no debe ocurrir dentro del lock del mapa
+    private final Cache<String, Jwt> tokensValidados;
+
+    public JwtDecoderCacheado(JwtDecoder delegado, long tamanoMaximo, Duration ttl) {
+
+        this.delegado = delegado;
+        this.ttlNanos = ttl.toNanos();
+        this.tokensValidados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String token, Jwt jwt, long tiempoActual) {
+                        return nanosHastaExpirar(jwt);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Jwt jwt, long tiempoActual, long duracionActual) {
+                        return nanosHastaExpirar(jwt);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Jwt jwt, long tiempoActual, long duracionActual) {
+                        return duracionActual;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+
+        Jwt jwt = tokensValidados.getIfPresent(token);
+        if (jwt != null) return jwt;
+
+        jwt = delegado.decode(token);
+        tokensValidados.put(token, jwt);
+        return jwt;
+    }
+
+    private long nanosHastaExpirar(Jwt jwt) {
+
+        Instant expiracion = jwt.getExpiresAt();
+        if (expiracion == null) return ttlNanos;
+
+        return Math.max(0, Math.min(ttlNanos, Duration.between(Instant.now(), expiracion).toNanos()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+// Resuelve el user del JWT una sola vez por request. El converter lo establece durante la autenticacion
+// y los services lo reutilizan desde los atributos de la request, sin volver a consultar users por correo.
+@Component
+@Slf4j
+public class ProveedorUserAutenticado {
+
+    private static final String ATRIBUTO_USER = ProveedorUserAutenticado.class.getName() + ".USER";
+
+    private final UserRepository userRepository;
+    private final CacheUserAutenticado cacheUserAutenticado;
+
+    public ProveedorUserAutenticado(UserRepository userRepository, CacheUserAutenticado cacheUserAutenticado) {
+        this.userRepository = userRepository;
+        this.cacheUserAutenticado = cacheUserAutenticado;
+    }
+
+    public Optional<UserAutenticadoDTO> obtener(Jwt jwt) {
+
+        String correo = jwt.getClaimAsString("email");
+        if (correo == null) return Optional.empty();
+
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos != null
+                && atributos.getAttribute(ATRIBUTO_USER, RequestAttributes.SCOPE_REQUEST) instanceof UserAutenticadoDTO user
+                && correo.equals(user.correo())) {
+            return Optional.of(user);
+        }
+
+        UserAutenticadoDTO user = cacheUserAutenticado.obtener(correo, this::cargarUser);
+
+        if (user != null && atributos != null) {
+            atributos.setAttribute(ATRIBUTO_USER, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    private UserAutenticadoDTO cargarUser(String correo) {
+
+        log.debug("Consultando DB por user: {}", correo);
+        return userRepository.findUserAutenticadoByCorreo(correo).orElse(null);
+    }
+}
@@ -1,17 +1,31 @@
 package com.mournlied.nutrition_tracker_api.infra.security;
 
+import com.mournlied.nutrition_tracker_api.infra.logging.MdcUserAutenticadoFilter;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
 @Profile("!test")
@@ -24,11 +38,20 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationConverter jwtAuthenticationConverter,
+                                                   Environment environment) throws Exception {
+
+        // Prometheus sin token solo cuando actuator escucha en un puerto interno aparte; en el puerto publico requiere JWT
+        EndpointRequest.EndpointRequestMatcher endpointsPublicos =
+                ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+                        ? EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)
+                        : EndpointRequest.to(HealthEndpoint.class);
+
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/home").permitAll()
+                        .requestMatchers(endpointsPublicos).permitAll()
                         .requestMatchers(
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
@@ -41,15 +64,46 @@ public class SecurityConfig {
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
-                );
+                )
+                .addFilterAfter(new MdcUserAutenticadoFilter(), BearerTokenAuthenticationFilter.class);
 
         return http.build();
     }
 
+    @Bean
+    public CacheJwks cacheJwks(
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${seguridad.jwks.uri:}") String jwksUri,
+            @Value("${seguridad.jwks.archivo:}") String archivo,
+            @Value("${seguridad.jwks.intervalo-refresco:10m}") Duration intervaloRefresco,
+            @Value("${seguridad.jwks.jitter-maximo:1m}") Duration jitterMaximo,
+            @Value("${seguridad.jwks.intervalo-minimo-refresco:30s}") Duration intervaloMinimoRefresco,
+            @Value("${seguridad.jwks.timeout:5s}") Duration timeout) {
+        return new CacheJwks(issuerUri, jwksUri, archivo, intervaloRefresco, jitterMaximo, intervaloMinimoRefresco, timeout);
+    }
+
+    // Sin JwtDecoders.fromIssuerLocation: el descubrimiento OIDC y el JWKS se resuelven en CacheJwks, fuera del inicio
     @Bean
     public JwtDecoder jwtDecoder(
-            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri) {
-        return JwtDecoders.fromIssuerLocation(issuerUri);
+            CacheJwks cacheJwks,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${seguridad.cache-jwt.tamano-maximo:10000}") long tamanoMaximo,
+            @Value("${seguridad.cache-jwt.ttl:5m}") Duration ttl) {
+        return jwtDecoderConJwksLocal(cacheJwks, issuerUri, tamanoMaximo, ttl);
+    }
+
+    static JwtDecoder jwtDecoderConJwksLocal(CacheJwks cacheJwks, String issuerUri, long tamanoMaximo, Duration ttl) {
+
+        DefaultJWTProcessor<SecurityContext> procesador = new DefaultJWTProcessor<>();
+        procesador.setJWSKeySelector(cacheJwks);
+        procesador.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(
+                JOSEObjectType.JWT, new JOSEObjectType("at+jwt"), null));
+        // exp, nbf e iss los valida JwtValidators, igual que el decoder por defecto de Spring
+        procesador.setJWTClaimsSetVerifier((claims, contexto) -> {});
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(procesador);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new JwtDecoderCacheado(decoder, tamanoMaximo, ttl);
     }
 
     @Bean
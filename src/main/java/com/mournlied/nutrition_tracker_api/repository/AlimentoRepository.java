@@ -0,0 +1,26 @@
+package com.mournlied.nutrition_tracker_api.repository;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.Alimento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlimentoRepository extends JpaRepository<Alimento, Long> {
+
+    // Catalogo completo ordenado por id, para armar IndiceAlimentos
+    List<Alimento> findAllByOrderByAlimentoIdAsc();
+
+    // Misma busqueda por trigramas que ComidaRepository.findNombresComidaSimilares, sobre idx_alimentos_nombre_trgm
+    @Query(value = """
+            SELECT a.alimento_id
+            FROM alimentos a
+            WHERE :texto <% a.nombre
+            ORDER BY word_similarity(:texto, a.nombre) DESC, a.nombre
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Long> findIdsAlimentosSimilares(@Param("texto") String texto, @Param("limite") int limite);
+}
@@ -1,25 +1,90 @@
 package com.mournlied.nutrition_tracker_api.repository;
 
 import com.mournlied.nutrition_tracker_api.domain.comida.Comida;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ComidaRepository extends JpaRepository<Comida,Long> {
 
-    Page<Comida> findByUserUserIdAndFechaCreacionComidaBetween(
+    // Proyecciones: sin entidades administradas ni proxy de User en las consultas de listado
+    Page<ObtenerComidaDTO> findByUserUserIdAndFechaCreacionComidaBetween(
             Long userId,
             LocalDate startDate,
             LocalDate endDate,
             Pageable pageable
     );
 
-    Page<Comida> findByUserUserIdAndEsFavoritaTrue(Long userId, Pageable pageable);
+    // Filtro por rango sobre la columna proteinas (V21), sin leer info_nutricional
+    Page<ObtenerComidaDTO> findByUserUserIdAndFechaCreacionComidaBetweenAndNutrientesProteinasGreaterThanEqual(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal proteinasMin,
+            Pageable pageable
+    );
+
+    // Keyset: comidas estrictamente posteriores al cursor en orden (fecha DESC, id DESC), sin OFFSET ni count
+    @Query("""
+            SELECT new com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO(
+                c.comidaId, c.nombreComida, c.fechaCreacionComida, c.cantidadEnGramos,
+                c.descripcion, c.tipoComida, c.informacionNutricional)
+            FROM Comida c
+            WHERE c.user.userId = :userId
+            AND c.fechaCreacionComida >= :startDate
+            AND c.fechaCreacionComida <= :fechaCursor
+            AND (c.fechaCreacionComida < :fechaCursor OR c.comidaId < :comidaIdCursor)
+            ORDER BY c.fechaCreacionComida DESC, c.comidaId DESC
+            """)
+    List<ObtenerComidaDTO> findSiguientesComidasDesdeCursor(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("fechaCursor") LocalDate fechaCursor,
+            @Param("comidaIdCursor") Long comidaIdCursor,
+            Limit limit
+    );
 
-    Optional<Comida> findByNombreComida(String nombreComida);
+    Page<ObtenerComidaDTO> findByUserUserIdAndEsFavoritaTrue(Long userId, Pageable pageable);
+
+    // Usa el indice unico (user_id, nombre_comida) de V24
+    Optional<Comida> findByUserUserIdAndNombreComida(Long userId, String nombreComida);
+
+    Optional<Comida> findByComidaIdAndUserUserId(Long comidaId, Long userId);
+
+    @Query("SELECT c.nombreComida FROM Comida c WHERE c.user.userId = :userId")
+    List<String> findNombresComidaByUserId(@Param("userId") Long userId);
+
+    // Similitud por trigramas contra alguna palabra del nombre, para textos con errores de tipeo.
+    // Usa idx_comidas_user_nombre_trgm (V23)
+    @Query(value = """
+            SELECT c.nombre_comida
+            FROM comidas c
+            WHERE c.user_id = :userId
+            AND :texto <% c.nombre_comida
+            ORDER BY word_similarity(:texto, c.nombre_comida) DESC, c.nombre_comida
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<String> findNombresComidaSimilares(
+            @Param("userId") Long userId,
+            @Param("texto") String texto,
+            @Param("limite") int limite
+    );
+
+    @Query("SELECT c.nombreComida FROM Comida c WHERE c.user.userId = :userId AND c.nombreComida IN :nombres")
+    List<String> findNombresComidaExistentes(
+            @Param("userId") Long userId,
+            @Param("nombres") Collection<String> nombres
+    );
 }
@@ -1,13 +1,41 @@
 package com.mournlied.nutrition_tracker_api.repository;
 
 import com.mournlied.nutrition_tracker_api.domain.user.HistorialPeso;
+import com.mournlied.nutrition_tracker_api.domain.user.SeriePesoProyeccion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface HistorialPesoRepository extends JpaRepository<HistorialPeso, Integer> {
 
     Page<HistorialPeso> findByPersonalInfo_InfoPersonalId(Long userId, Pageable pageable);
+
+    // Intervalos de :diasPorIntervalo dias contados desde :startDate (date - date es entero en Postgres)
+    @Query(nativeQuery = true, value = """
+            SELECT CAST(:startDate AS DATE)
+                    + ((h.fecha_registro - CAST(:startDate AS DATE)) / :diasPorIntervalo) * :diasPorIntervalo
+                    AS "inicioIntervalo",
+                COUNT(*) AS "cantidadRegistros",
+                MIN(h.peso_registro) AS "pesoMinimo",
+                AVG(h.peso_registro) AS "pesoPromedio",
+                MAX(h.peso_registro) AS "pesoMaximo"
+            FROM historial_peso h
+            WHERE h.user_id = :userId
+            AND h.fecha_registro BETWEEN :startDate AND :endDate
+            GROUP BY 1
+            ORDER BY 1
+            """)
+    List<SeriePesoProyeccion> resumirSeriePeso(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("diasPorIntervalo") int diasPorIntervalo
+    );
 }
@@ -0,0 +1,76 @@
+package com.mournlied.nutrition_tracker_api.repository;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.ResumenDiario;
+import com.mournlied.nutrition_tracker_api.domain.comida.ResumenNutricionalProyeccion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ResumenDiarioRepository extends JpaRepository<ResumenDiario, ResumenDiario.ResumenDiarioId> {
+
+    // Suma el delta a la fila del dia, creandola si no existe
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO resumen_diario AS r (user_id, fecha, cantidad_comidas, calorias, proteinas,
+                carbohidratos_totales, azucares, grasa_saturada, grasa_trans, fibra, sodio)
+            VALUES (:userId, :fecha, :cantidadComidas, :#{#n.calorias()}, :#{#n.proteinas()},
+                :#{#n.carbohidratosTotales()}, :#{#n.azucares()}, :#{#n.grasaSaturada()},
+                :#{#n.grasaTrans()}, :#{#n.fibra()}, :#{#n.sodio()})
+            ON CONFLICT (user_id, fecha) DO UPDATE SET
+                cantidad_comidas = r.cantidad_comidas + EXCLUDED.cantidad_comidas,
+                calorias = r.calorias + EXCLUDED.calorias,
+                proteinas = r.proteinas + EXCLUDED.proteinas,
+                carbohidratos_totales = r.carbohidratos_totales + EXCLUDED.carbohidratos_totales,
+                azucares = r.azucares + EXCLUDED.azucares,
+                grasa_saturada = r.grasa_saturada + EXCLUDED.grasa_saturada,
+                grasa_trans = r.grasa_trans + EXCLUDED.grasa_trans,
+                fibra = r.fibra + EXCLUDED.fibra,
+                sodio = r.sodio + EXCLUDED.sodio
+            """)
+    void sumarDelta(@Param("userId") Long userId,
+                    @Param("fecha") LocalDate fecha,
+                    @Param("cantidadComidas") int cantidadComidas,
+                    @Param("n") NutrientesComida n);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            DELETE FROM resumen_diario
+            WHERE user_id = :userId AND fecha = :fecha AND cantidad_comidas <= 0
+            """)
+    void eliminarSiVacio(@Param("userId") Long userId, @Param("fecha") LocalDate fecha);
+
+    @Query(nativeQuery = true, value = "SELECT reconstruir_resumen_diario(CAST(:userId AS BIGINT))")
+    Integer reconstruir(@Param("userId") Long userId);
+
+    // Con agrupacion por dia cada fila del rollup es un periodo; por semana se suman a lo mas 7 filas
+    @Query(nativeQuery = true, value = """
+            SELECT CAST(date_trunc(:unidad, CAST(r.fecha AS TIMESTAMP)) AS DATE) AS "inicioPeriodo",
+                SUM(r.cantidad_comidas) AS "cantidadComidas",
+                SUM(r.calorias) AS "calorias",
+                SUM(r.proteinas) AS "proteinas",
+                SUM(r.carbohidratos_totales) AS "carbohidratosTotales",
+                SUM(r.azucares) AS "azucares",
+                SUM(r.grasa_saturada) AS "grasaSaturada",
+                SUM(r.grasa_trans) AS "grasaTrans",
+                SUM(r.fibra) AS "fibra",
+                SUM(r.sodio) AS "sodio"
+            FROM resumen_diario r
+            WHERE r.user_id = :userId
+            AND r.fecha BETWEEN :startDate AND :endDate
+            GROUP BY 1
+            ORDER BY 1
+            """)
+    List<ResumenNutricionalProyeccion> resumirPorPeriodo(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("unidad") String unidad
+    );
+}
@@ -1,10 +1,13 @@
 package com.mournlied.nutrition_tracker_api.repository;
 
 import com.mournlied.nutrition_tracker_api.domain.user.User;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -15,10 +18,26 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
     Optional<User> findUserByUserId(Long id);
 
+    // Sin readOnly para leer siempre del primario: CacheUserAutenticado invalida despues del commit y la recarga
+    // desde una replica atrasada volveria a guardar el rol/estado anterior (o un user eliminado) por todo el TTL
+    @Transactional
     @Query("""
-    SELECT u FROM User u
-    JOIN FETCH u.rol r
+    SELECT new com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO(
+        u.userId, u.correo, r.rolId, u.estado)
+    FROM User u
+    LEFT JOIN u.rol r
     WHERE u.correo = :correo
 """)
-    Optional<User> findUserWithRolesAndPermisosByCorreo(@Param("correo") String correo);
+    Optional<UserAutenticadoDTO> findUserAutenticadoByCorreo(@Param("correo") String correo);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET version_datos = version_datos + 1 WHERE user_id = :userId", nativeQuery = true)
+    void incrementarVersionDatos(@Param("userId") Long userId);
+
+    // VersionDatosEtagInterceptor la lee al inicio de la transaccion readOnly de la request, antes que la pagina
+    // y en la misma conexion: con replica, una version del primario marcaria como nueva una pagina atrasada
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT version_datos FROM users WHERE user_id = :userId", nativeQuery = true)
+    Optional<Long> findVersionDatosByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,61 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.Alimento;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.ObtenerAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.repository.AlimentoRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
+public class AlimentoService {
+
+    private final AlimentoRepository alimentoRepository;
+    private final IndiceAlimentos indiceAlimentos;
+
+    public AlimentoService(AlimentoRepository alimentoRepository, IndiceAlimentos indiceAlimentos){
+        this.alimentoRepository = alimentoRepository;
+        this.indiceAlimentos = indiceAlimentos;
+    }
+
+    @Transactional
+    public ObtenerAlimentoDTO registrarAlimento(@Valid RegistroAlimentoDTO registroAlimentoDTO) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+        log.info("Registrando alimento: {}", registroAlimentoDTO.nombre());
+
+        Alimento alimento = alimentoRepository.save(new Alimento(registroAlimentoDTO));
+        indiceAlimentos.reconstruirAlConfirmar();
+
+        return new ObtenerAlimentoDTO(alimento);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ObtenerAlimentoDTO> obtenerListaAlimentos(Pageable paginacion) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+        log.info("Obteniendo catalogo de alimentos");
+
+        return alimentoRepository.findAll(paginacion).map(ObtenerAlimentoDTO::new);
+    }
+
+    @Transactional(readOnly = true)
+    public ObtenerAlimentoDTO obtenerAlimento(Long alimentoId) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        return alimentoRepository.findById(alimentoId)
+                .map(ObtenerAlimentoDTO::new)
+                .orElseThrow(() -> new EntityNotFoundException("Alimento no existe."));
+    }
+}
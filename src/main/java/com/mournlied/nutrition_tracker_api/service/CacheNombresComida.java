@@ -0,0 +1,106 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Nombres de comidas de cada user con su indice de prefijos, para autocompletar sin consultar la DB.
+// ComidaService invalida al registrar, renombrar o eliminar; el ttl acota lo desactualizado en otras instancias.
+@Component
+@Slf4j
+public class CacheNombresComida {
+
+    private final ComidaRepository comidaRepository;
+
+    // Peso = claves del indice, asi users con miles de comidas cuentan proporcionalmente
+    private final AsyncCache<Long, NombresUser> nombresPorUser;
+
+    public CacheNombresComida(
+            ComidaRepository comidaRepository,
+            @Value("${busqueda.cache-nombres.peso-maximo:2000000}") long pesoMaximo,
+            @Value("${busqueda.cache-nombres.ttl:10m}") Duration ttl) {
+
+        this.comidaRepository = comidaRepository;
+        this.nombresPorUser = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximo)
+                .<Long, NombresUser>weigher((userId, nombres) -> nombres.indice().cantidadClaves() + 1)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public List<String> buscarPorPrefijo(Long userId, String prefijo, int limite) {
+
+        NombresUser nombresUser = obtener(userId);
+        int[] posiciones = nombresUser.indice().buscar(prefijo, limite);
+
+        List<String> encontrados = new ArrayList<>(posiciones.length);
+        for (int posicion : posiciones) {
+            encontrados.add(nombresUser.nombres().get(posicion));
+        }
+        return encontrados;
+    }
+
+    public void invalidar(Long userId) {
+
+        log.debug("Invalidando nombres de comidas en cache de userId: {}", userId);
+        nombresPorUser.synchronous().invalidate(userId);
+    }
+
+    // Dentro de una transaccion invalida despues del commit, para que otra request no recargue los nombres anteriores
+    public void invalidarAlConfirmar(Long userId) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidar(userId);
+            }
+        });
+    }
+
+    // Misma carga que CacheUserAutenticado: la consulta corre fuera del lock del mapa
+    private NombresUser obtener(Long userId) {
+
+        CompletableFuture<NombresUser> carga = new CompletableFuture<>();
+        CompletableFuture<NombresUser> enCurso = nombresPorUser.asMap().putIfAbsent(userId, carga);
+        if (enCurso != null) return esperar(enCurso);
+
+        try {
+            log.debug("Cargando nombres de comidas de userId: {}", userId);
+            List<String> nombres = comidaRepository.findNombresComidaByUserId(userId);
+            NombresUser nombresUser = new NombresUser(nombres, IndicePrefijos.desde(nombres));
+            carga.complete(nombresUser);
+            return nombresUser;
+        } catch (RuntimeException e) {
+            carga.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static NombresUser esperar(CompletableFuture<NombresUser> carga) {
+
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw e;
+        }
+    }
+
+    private record NombresUser(List<String> nombres, IndicePrefijos indice) {}
+}
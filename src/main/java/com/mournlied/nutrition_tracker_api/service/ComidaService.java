@@ -1,119 +1,325 @@
 package com.mournlied.nutrition_tracker_api.service;
 
 import com.mournlied.nutrition_tracker_api.domain.comida.Comida;
+import com.mournlied.nutrition_tracker_api.domain.comida.CursorComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.EstadoRegistroComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaPorIdDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.PaginaCursorComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaAlimentoDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoRegistroComidaDTO;
 import com.mournlied.nutrition_tracker_api.domain.user.User;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
 public class ComidaService {
 
     private final ComidaRepository comidaRepository;
     private final UserRepository userRepository;
-
-    public ComidaService(ComidaRepository comidaRepository, UserRepository userRepository){
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
+    private final ResumenDiarioService resumenDiarioService;
+    private final IndiceAlimentos indiceAlimentos;
+    private final CacheNombresComida cacheNombresComida;
+
+    public ComidaService(ComidaRepository comidaRepository, UserRepository userRepository,
+                         ProveedorUserAutenticado proveedorUserAutenticado,
+                         ResumenDiarioService resumenDiarioService,
+                         IndiceAlimentos indiceAlimentos,
+                         CacheNombresComida cacheNombresComida){
         this.comidaRepository = comidaRepository;
         this.userRepository = userRepository;
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
+        this.resumenDiarioService = resumenDiarioService;
+        this.indiceAlimentos = indiceAlimentos;
+        this.cacheNombresComida = cacheNombresComida;
     }
 
+    @Transactional(readOnly = true)
     public Page<ObtenerComidaDTO> obtenerListaComidas(Jwt jwt, Pageable paginacion,
-                                                      LocalDate startDate, LocalDate endDate) {
+                                                      LocalDate startDate, LocalDate endDate,
+                                                      BigDecimal proteinasMin) {
 
         log.debug("Request ID {}", MDC.get("requestId"));
 
-        Long userId = obtenerUserDesdeJwt(jwt).getUserId();
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
 
         RangoFechas fechas = ajustaFechasParaBusqueda(startDate,endDate);
 
         log.info("Obteniendo lista de comidas");
+        if (proteinasMin != null) {
+            return comidaRepository.findByUserUserIdAndFechaCreacionComidaBetweenAndNutrientesProteinasGreaterThanEqual(
+                    userId, fechas.startDate, fechas.endDate, proteinasMin, paginacion);
+        }
         return comidaRepository.findByUserUserIdAndFechaCreacionComidaBetween(
-                userId, fechas.startDate, fechas.endDate, paginacion).map(ObtenerComidaDTO::new);
+                userId, fechas.startDate, fechas.endDate, paginacion);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorComidasDTO obtenerListaComidasConCursor(Jwt jwt, String cursor, int size,
+                                                              LocalDate startDate, LocalDate endDate) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+
+        RangoFechas fechas = ajustaFechasParaBusqueda(startDate,endDate);
+        CursorComida posicion = (cursor == null || cursor.isBlank())
+                ? CursorComida.primeraPagina(fechas.endDate)
+                : CursorComida.decodificar(cursor);
+
+        log.info("Obteniendo lista de comidas con cursor");
+        // Se pide un elemento extra solo para saber si existe una pagina siguiente
+        List<ObtenerComidaDTO> comidas = comidaRepository.findSiguientesComidasDesdeCursor(
+                userId, fechas.startDate, posicion.fechaCreacionComida(), posicion.comidaId(), Limit.of(size + 1));
+
+        boolean hasNext = comidas.size() > size;
+        List<ObtenerComidaDTO> pagina = hasNext ? comidas.subList(0, size) : comidas;
+        String nextCursor = hasNext ? CursorComida.desde(pagina.get(size - 1)).codificar() : null;
+
+        return new PaginaCursorComidasDTO(
+                List.copyOf(pagina),
+                pagina.size(),
+                hasNext,
+                nextCursor);
     }
 
+    @Transactional
     public ObtenerComidaDTO registrarNuevaComida(Jwt jwt, @Valid RegistroComidaDTO registroComidaDTO) {
 
         log.debug("Request ID {}", MDC.get("requestId"));
 
-        User user = obtenerUserDesdeJwt(jwt);
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+        User user = userRepository.getReferenceById(userId);
 
         log.info("Creando nueva comida: {}", registroComidaDTO.nombreComida());
-        Comida nuevaComida = new Comida(registroComidaDTO, user);
-        comidaRepository.save(nuevaComida);
+        return guardarNuevaComida(userId, new Comida(registroComidaDTO, user));
+    }
 
-        return new ObtenerComidaDTO(nuevaComida);
+    // Los nutrientes se escalan desde el catalogo en memoria, sin consultar alimentos
+    @Transactional
+    public ObtenerComidaDTO registrarComidaDesdeAlimento(Jwt jwt, @Valid RegistroComidaAlimentoDTO dto) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        NutrientesComida nutrientes = indiceAlimentos.nutrientesPara(dto.alimentoId(), dto.cantidadEnGramos())
+                .orElseThrow(() -> new EntityNotFoundException("Alimento no existe."));
+
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+        User user = userRepository.getReferenceById(userId);
+
+        log.info("Creando nueva comida: {} desde alimento id: {}", dto.nombreComida(), dto.alimentoId());
+        Comida nuevaComida = new Comida(new RegistroComidaDTO(
+                dto.nombreComida(),
+                dto.cantidadEnGramos(),
+                dto.descripcion(),
+                dto.tipoComida(),
+                nutrientes.comoInformacionNutricional(),
+                dto.esFavorita()), user);
+        nuevaComida.setAlimentoId(dto.alimentoId());
+
+        return guardarNuevaComida(userId, nuevaComida);
     }
 
+    @Transactional
+    public ResultadoLoteComidasDTO registrarLoteComidas(Jwt jwt, @Valid RegistroLoteComidasDTO loteDTO) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+        User user = userRepository.getReferenceById(userId);
+
+        return registrarComidasSinConflictos(userId, loteDTO.comidas().stream()
+                .map(dto -> new Comida(dto, user))
+                .toList());
+    }
+
+    // Inserta en batch las comidas cuyo nombre no este ocupado. Un conflicto en nombre_comida_user_unico abortaria
+    // toda la transaccion al hacer flush, por eso se descartan antes los nombres ya registrados o repetidos en la lista
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ResultadoLoteComidasDTO registrarComidasSinConflictos(Long userId, List<Comida> comidas) {
+
+        Set<String> nombresOcupados = new HashSet<>(comidaRepository.findNombresComidaExistentes(userId,
+                comidas.stream().map(Comida::getNombreComida).collect(Collectors.toSet())));
+
+        List<Comida> nuevasComidas = new ArrayList<>();
+        ResultadoRegistroComidaDTO[] resultados = new ResultadoRegistroComidaDTO[comidas.size()];
+
+        for (int i = 0; i < comidas.size(); i++) {
+            Comida comida = comidas.get(i);
+            if (!nombresOcupados.add(comida.getNombreComida())) {
+                resultados[i] = new ResultadoRegistroComidaDTO(
+                        i, comida.getNombreComida(), EstadoRegistroComida.CONFLICTO, null);
+                continue;
+            }
+            nuevasComidas.add(comida);
+        }
+
+        log.info("Registrando lote de {} comidas, {} en conflicto", nuevasComidas.size(), comidas.size() - nuevasComidas.size());
+        comidaRepository.saveAllAndFlush(nuevasComidas);
+
+        Map<LocalDate, List<NutrientesComida>> nutrientesPorFecha = new HashMap<>();
+        for (int i = 0; i < comidas.size(); i++) {
+            if (resultados[i] != null) continue;
+            Comida comida = comidas.get(i);
+            resultados[i] = new ResultadoRegistroComidaDTO(
+                    i, comida.getNombreComida(), EstadoRegistroComida.REGISTRADA, new ObtenerComidaDTO(comida));
+            nutrientesPorFecha.computeIfAbsent(comida.getFechaCreacionComida(), f -> new ArrayList<>())
+                    .add(comida.getNutrientes());
+        }
+        nutrientesPorFecha.forEach((fecha, nutrientes) ->
+                resumenDiarioService.registrarComidas(userId, fecha, nutrientes));
+        if (!nuevasComidas.isEmpty()) registrarCambioComidas(userId);
+
+        return new ResultadoLoteComidasDTO(nuevasComidas.size(), comidas.size() - nuevasComidas.size(), List.of(resultados));
+    }
+
+    @Transactional(readOnly = true)
     public Page<ObtenerComidaDTO> obtenerListaComidasFavoritas(Jwt jwt, Pageable paginacion) {
 
         log.debug("Request ID {}", MDC.get("requestId"));
 
-        Long userId = obtenerUserDesdeJwt(jwt).getUserId();
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
 
         log.info("Obteniendo lista de comidas favoritas");
-        return comidaRepository.findByUserUserIdAndEsFavoritaTrue(userId,paginacion).map(ObtenerComidaDTO::new);
+        return comidaRepository.findByUserUserIdAndEsFavoritaTrue(userId,paginacion);
     }
 
     @Transactional
-    public ObtenerComidaDTO actualizarComida(ActualizarComidaDTO actualizarComidaDTO) {
+    public ObtenerComidaDTO actualizarComida(Jwt jwt, ActualizarComidaDTO actualizarComidaDTO) {
 
         log.debug("Request ID {}", MDC.get("requestId"));
 
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
         String nombreComida = actualizarComidaDTO.nombreComidaOriginal();
 
         log.info("Actualizando comida: {}", nombreComida);
-        Comida comida = obtenerComidaConNombreComida(nombreComida);
+        return actualizar(obtenerComidaConNombreComida(userId, nombreComida), actualizarComidaDTO.sinNombreOriginal());
+    }
 
-        patchComidaDesdeDto(comida, actualizarComidaDTO);
+    @Transactional
+    public ObtenerComidaDTO actualizarComidaPorId(Jwt jwt, Long comidaId, ActualizarComidaPorIdDTO actualizarComidaDTO) {
 
-        return new ObtenerComidaDTO(comida);
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+
+        log.info("Actualizando comida id: {}", comidaId);
+        return actualizar(obtenerComidaConId(userId, comidaId), actualizarComidaDTO);
     }
 
-    public void eliminarComida(@NotBlank String nombreComida) {
+    @Transactional
+    public void eliminarComida(Jwt jwt, @NotBlank String nombreComida) {
 
         log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+
         log.info("Eliminando comida: {}", nombreComida);
-        comidaRepository.delete(obtenerComidaConNombreComida(nombreComida));
+        eliminar(obtenerComidaConNombreComida(userId, nombreComida));
     }
 
-    private User obtenerUserDesdeJwt(Jwt jwt){
+    @Transactional
+    public void eliminarComidaPorId(Jwt jwt, Long comidaId) {
 
-        String correoToken = jwt.getClaimAsString("email");
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+
+        log.info("Eliminando comida id: {}", comidaId);
+        eliminar(obtenerComidaConId(userId, comidaId));
+    }
 
-        log.debug("Consultando DB por correo: {}", correoToken);
-        var user = userRepository.findUserByCorreo(correoToken);
+    private ObtenerComidaDTO actualizar(Comida comida, ActualizarComidaPorIdDTO dto){
 
-        if (user.isEmpty()){throw new EntityNotFoundException("User no existe.");}
+        NutrientesComida nutrientesAnteriores = comida.getNutrientes();
 
-        return user.get();
+        patchComidaDesdeDto(comida, dto);
+        resumenDiarioService.actualizarComida(comida.getUser().getUserId(), comida.getFechaCreacionComida(),
+                nutrientesAnteriores, comida.getNutrientes());
+        registrarCambioComidas(comida.getUser().getUserId());
+
+        return new ObtenerComidaDTO(comida);
     }
 
-    private Comida obtenerComidaConNombreComida(String nombreComida){
+    private void eliminar(Comida comida){
+
+        comidaRepository.delete(comida);
+        resumenDiarioService.eliminarComida(comida.getUser().getUserId(), comida.getFechaCreacionComida(),
+                comida.getNutrientes());
+        registrarCambioComidas(comida.getUser().getUserId());
+    }
+
+    private ObtenerComidaDTO guardarNuevaComida(Long userId, Comida nuevaComida){
+
+        comidaRepository.save(nuevaComida);
+        resumenDiarioService.registrarComida(
+                userId, nuevaComida.getFechaCreacionComida(), nuevaComida.getNutrientes());
+        registrarCambioComidas(userId);
+
+        return new ObtenerComidaDTO(nuevaComida);
+    }
+
+    // Nueva version de datos para los ETag de listas y nombres de autocompletado a recargar tras el commit
+    private void registrarCambioComidas(Long userId){
+
+        userRepository.incrementarVersionDatos(userId);
+        cacheNombresComida.invalidarAlConfirmar(userId);
+    }
+
+    private UserAutenticadoDTO obtenerUserDesdeJwt(Jwt jwt){
+
+        return proveedorUserAutenticado.obtener(jwt)
+                .orElseThrow(() -> new EntityNotFoundException("User no existe."));
+    }
+
+    // Busquedas siempre acotadas al user autenticado: la comida de otro user no existe para esta request
+    private Comida obtenerComidaConNombreComida(Long userId, String nombreComida){
 
         log.debug("Consultando DB por comida: {}", nombreComida);
-        var comidaDB = comidaRepository.findByNombreComida(nombreComida);
+        var comidaDB = comidaRepository.findByUserUserIdAndNombreComida(userId, nombreComida);
 
         if (comidaDB.isEmpty()){throw new EntityNotFoundException("Comida no existe.");}
 
         return comidaDB.get();
     }
 
-    private void patchComidaDesdeDto(Comida comida, ActualizarComidaDTO dto){
+    private Comida obtenerComidaConId(Long userId, Long comidaId){
+
+        log.debug("Consultando DB por comida id: {}", comidaId);
+        return comidaRepository.findByComidaIdAndUserUserId(comidaId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Comida no existe."));
+    }
+
+    private void patchComidaDesdeDto(Comida comida, ActualizarComidaPorIdDTO dto){
         if (dto.nombreComidaNuevo() != null && !dto.nombreComidaNuevo().isBlank()) {
             comida.setNombreComida(dto.nombreComidaNuevo());
         }
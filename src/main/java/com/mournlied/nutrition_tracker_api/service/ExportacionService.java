@@ -0,0 +1,263 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.exportacion.ColumnaExportacion;
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// Exportaciones completas escritas fila a fila desde un cursor JDBC de solo avance: sin entidades, sin Page en memoria.
+// El cuerpo corre en el hilo async de MVC, por eso el user se resuelve antes y el MDC se copia.
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
+public class ExportacionService {
+
+    private static final String SQL_COMIDAS = """
+            SELECT comida_id, nombre_comida, comida_creacion, cantidad_gramos, comida_descripcion,
+                tipo_comida, es_favorita, info_nutricional
+            FROM comidas
+            WHERE user_id = ?
+            ORDER BY comida_creacion, comida_id
+            """;
+
+    private static final List<ColumnaExportacion> COLUMNAS_COMIDAS = List.of(
+            ColumnaExportacion.de("comidaId", "comida_id"),
+            ColumnaExportacion.de("nombreComida", "nombre_comida"),
+            ColumnaExportacion.de("fechaCreacionComida", "comida_creacion"),
+            ColumnaExportacion.de("cantidadEnGramos", "cantidad_gramos"),
+            ColumnaExportacion.de("descripcion", "comida_descripcion"),
+            ColumnaExportacion.de("tipoComida", "tipo_comida"),
+            ColumnaExportacion.de("esFavorita", "es_favorita"),
+            ColumnaExportacion.json("informacionNutricional", "info_nutricional"));
+
+    private static final String SQL_HISTORIAL_PESO = """
+            SELECT fecha_registro, peso_registro
+            FROM historial_peso
+            WHERE user_id = ?
+            ORDER BY fecha_registro, historial_peso_id
+            """;
+
+    private static final List<ColumnaExportacion> COLUMNAS_HISTORIAL_PESO = List.of(
+            ColumnaExportacion.de("fechaActual", "fecha_registro"),
+            ColumnaExportacion.de("pesoActual", "peso_registro"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaccionLectura;
+    private final ObjectMapper objectMapper;
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
+    private final int tamanoFetch;
+
+    public ExportacionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, ProveedorUserAutenticado proveedorUserAutenticado,
+                              @Value("${exportacion.tamano-fetch:500}") int tamanoFetch){
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
+        this.tamanoFetch = tamanoFetch;
+
+        // El driver de Postgres solo usa cursor (fetch size) con autocommit desactivado, es decir dentro de una transaccion
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportarComidas(Jwt jwt, FormatoExportacion formato) {
+
+        log.info("Request ID {}", MDC.get("requestId"));
+        Long userId = obtenerUserIdDesdeJwt(jwt);
+
+        log.info("Exportando comidas en formato {}", formato);
+        return cuerpo(SQL_COMIDAS, COLUMNAS_COMIDAS, userId, formato);
+    }
+
+    public StreamingResponseBody exportarHistorialPeso(Jwt jwt, FormatoExportacion formato) {
+
+        log.info("Request ID {}", MDC.get("requestId"));
+        Long userId = obtenerUserIdDesdeJwt(jwt);
+
+        log.info("Exportando historial de peso en formato {}", formato);
+        return cuerpo(SQL_HISTORIAL_PESO, COLUMNAS_HISTORIAL_PESO, userId, formato);
+    }
+
+    private StreamingResponseBody cuerpo(String sql, List<ColumnaExportacion> columnas,
+                                         Long userId, FormatoExportacion formato) {
+
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        return salida -> {
+            if (mdc != null) MDC.setContextMap(mdc);
+            try {
+                EscritorFilas escritor = formato == FormatoExportacion.CSV
+                        ? new EscritorCsv(salida, columnas)
+                        : new EscritorNdjson(generadorNdjson(salida), columnas);
+
+                long filas = transaccionLectura.execute(status -> {
+                    long[] contador = {0};
+                    jdbcTemplate.query(con -> {
+                        PreparedStatement ps = con.prepareStatement(
+                                sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(tamanoFetch);
+                        ps.setLong(1, userId);
+                        return ps;
+                    }, (ResultSet rs) -> {
+                        escritor.escribir(rs);
+                        contador[0]++;
+                    });
+                    return contador[0];
+                });
+
+                escritor.terminar();
+                log.info("Exportacion terminada: {} filas", filas);
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+
+    // Sin separador raiz: por defecto Jackson antepone un espacio a cada objeto despues del primero
+    private JsonGenerator generadorNdjson(OutputStream salida) throws IOException {
+
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(salida);
+        generador.setRootValueSeparator(null);
+        return generador;
+    }
+
+    private Long obtenerUserIdDesdeJwt(Jwt jwt){
+
+        return proveedorUserAutenticado.obtener(jwt)
+                .orElseThrow(() -> new EntityNotFoundException("User no existe."))
+                .userId();
+    }
+
+    private interface EscritorFilas {
+
+        void escribir(ResultSet rs) throws SQLException;
+
+        void terminar() throws IOException;
+    }
+
+    private static final class EscritorNdjson implements EscritorFilas {
+
+        private final JsonGenerator generador;
+        private final List<ColumnaExportacion> columnas;
+
+        private EscritorNdjson(JsonGenerator generador, List<ColumnaExportacion> columnas) {
+            this.generador = generador;
+            this.columnas = columnas;
+        }
+
+        @Override
+        public void escribir(ResultSet rs) throws SQLException {
+            try {
+                generador.writeStartObject();
+                for (ColumnaExportacion columna : columnas) {
+                    Object valor = rs.getObject(columna.columna());
+                    generador.writeFieldName(columna.campo());
+                    if (valor == null) {
+                        generador.writeNull();
+                    } else if (columna.esJson()) {
+                        generador.writeRawValue(rs.getString(columna.columna()));
+                    } else if (valor instanceof Number || valor instanceof Boolean) {
+                        generador.writeObject(valor);
+                    } else {
+                        generador.writeString(rs.getString(columna.columna()));
+                    }
+                }
+                generador.writeEndObject();
+                generador.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void terminar() throws IOException {
+            generador.flush();
+        }
+    }
+
+    private static final class EscritorCsv implements EscritorFilas {
+
+        private final Writer writer;
+        private final List<ColumnaExportacion> columnas;
+        private boolean encabezadoEscrito;
+
+        private EscritorCsv(OutputStream salida, List<ColumnaExportacion> columnas) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            this.columnas = columnas;
+        }
+
+        @Override
+        public void escribir(ResultSet rs) throws SQLException {
+            try {
+                escribirEncabezado();
+                for (int i = 0; i < columnas.size(); i++) {
+                    if (i > 0) writer.write(',');
+                    String columna = columnas.get(i).columna();
+                    String valor = rs.getString(columna);
+                    if (valor == null) continue;
+                    // Solo texto libre: un numero negativo no es una formula
+                    writer.write(escapar(rs.getObject(columna) instanceof String ? neutralizarFormula(valor) : valor));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void terminar() throws IOException {
+            // Una exportacion vacia igual lleva encabezado
+            escribirEncabezado();
+            writer.flush();
+        }
+
+        private void escribirEncabezado() throws IOException {
+
+            if (encabezadoEscrito) return;
+
+            writer.write(String.join(",", columnas.stream().map(ColumnaExportacion::campo).toList()));
+            writer.write("\r\n");
+            encabezadoEscrito = true;
+        }
+
+        // Una celda que empieza con =, +, -, @, tab o CR la evalua como formula una planilla al abrir el CSV.
+        // El importador quita un ' delante de esos caracteres, asi que un texto que ya empieza con ' tambien se prefija
+        private static String neutralizarFormula(String valor) {
+
+            int inicio = 0;
+            while (inicio < valor.length() && valor.charAt(inicio) == '\'') inicio++;
+            if (inicio == valor.length() || "=+-@\t\r".indexOf(valor.charAt(inicio)) < 0) return valor;
+            return '\'' + valor;
+        }
+
+        // RFC 4180: se citan los valores con separador, comillas o saltos de linea
+        private static String escapar(String valor) {
+
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                return valor;
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mournlied.nutrition_tracker_api.domain.comida.Comida;
+import com.mournlied.nutrition_tracker_api.domain.comida.EstadoRegistroComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoRegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.domain.importacion.dto.ErrorImportacionDTO;
+import com.mournlied.nutrition_tracker_api.domain.importacion.dto.ResultadoImportacionDTO;
+import com.mournlied.nutrition_tracker_api.domain.user.User;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Importa comidas leyendo el archivo registro a registro: nunca se mantiene en memoria mas de un lote,
+// y un registro mas largo que el maximo se descarta sin acumularlo (una linea gigante o una comilla sin cerrar).
+// Cada lote se escribe en su propia transaccion, asi un archivo grande no deja una transaccion abierta por minutos
+// y un lote rechazado no revierte los anteriores.
+// Con open-in-view la transaccion de cada lote usa el EntityManager de la request: se vacia al terminar cada lote,
+// si no las comidas de todos los lotes anteriores quedarian administradas y cada flush las revisaria de nuevo.
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
+public class ImportacionComidasService {
+
+    private static final int MAXIMO_ERRORES_REPORTADOS = 100;
+
+    private final ComidaService comidaService;
+    private final UserRepository userRepository;
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
+    private final TransactionTemplate transaccionLote;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader lectorRegistroComida;
+    private final Validator validator;
+    private final int tamanoLote;
+    private final int maximoCaracteresRegistro;
+
+    public ImportacionComidasService(ComidaService comidaService, UserRepository userRepository,
+                                     ProveedorUserAutenticado proveedorUserAutenticado,
+                                     PlatformTransactionManager transactionManager,
+                                     EntityManager entityManager,
+                                     ObjectMapper objectMapper, Validator validator,
+                                     @Value("${importacion.tamano-lote:500}") int tamanoLote,
+                                     @Value("${importacion.maximo-caracteres-registro:65536}") int maximoCaracteresRegistro){
+        this.comidaService = comidaService;
+        this.userRepository = userRepository;
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
+        this.transaccionLote = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Los campos extra (ej: comidaId de una exportacion) se ignoran, asi una exportacion se puede reimportar
+        this.lectorRegistroComida = objectMapper.readerFor(RegistroComidaDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.validator = validator;
+        this.tamanoLote = tamanoLote;
+        this.maximoCaracteresRegistro = maximoCaracteresRegistro;
+    }
+
+    public ResultadoImportacionDTO importarComidas(Jwt jwt, FormatoExportacion formato, InputStream entrada)
+            throws IOException {
+
+        log.info("Request ID {}", MDC.get("requestId"));
+        long inicio = System.nanoTime();
+
+        Long userId = proveedorUserAutenticado.obtener(jwt)
+                .orElseThrow(() -> new EntityNotFoundException("User no existe."))
+                .userId();
+
+        log.info("Importando comidas en formato {} con lotes de {}", formato, tamanoLote);
+        Reporte reporte = new Reporte();
+        List<ComidaLeida> lote = new ArrayList<>(tamanoLote);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        LectorRegistros lector = formato == FormatoExportacion.CSV
+                ? new LectorCsv(reader, objectMapper, maximoCaracteresRegistro)
+                : new LectorNdjson(reader, objectMapper, maximoCaracteresRegistro);
+
+        while (true) {
+            JsonNode nodo;
+            try {
+                nodo = lector.siguiente();
+            } catch (RegistroIlegible e) {
+                reporte.invalido(++reporte.leidos, null, e.getMessage());
+                continue;
+            }
+            if (nodo == null) break;
+
+            ComidaLeida comida = convertir(++reporte.leidos, nodo, reporte);
+            if (comida == null) continue;
+
+            lote.add(comida);
+            if (lote.size() == tamanoLote) {
+                escribirLote(userId, lote, reporte);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            escribirLote(userId, lote, reporte);
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double porSegundo = duracionMs == 0 ? reporte.leidos : Math.round(reporte.leidos * 10_000.0 / duracionMs) / 10.0;
+
+        log.info("Importacion terminada: {} leidos, {} registradas, {} conflictos, {} invalidos en {} ms ({} registros/s)",
+                reporte.leidos, reporte.registradas, reporte.conflictos, reporte.invalidos, duracionMs, porSegundo);
+        return new ResultadoImportacionDTO(reporte.leidos, reporte.registradas, reporte.conflictos, reporte.invalidos,
+                List.copyOf(reporte.errores), duracionMs, porSegundo);
+    }
+
+    // Mismas restricciones que POST /comida; ademas acepta fechaCreacionComida para conservar la fecha original
+    private ComidaLeida convertir(long registro, JsonNode nodo, Reporte reporte) {
+
+        String nombreComida = nodo.path("nombreComida").isTextual() ? nodo.get("nombreComida").asText() : null;
+
+        RegistroComidaDTO dto;
+        try {
+            dto = lectorRegistroComida.readValue(nodo);
+        } catch (IOException e) {
+            reporte.invalido(registro, nombreComida, "Tipo de dato inválido: " + mensajeCorto(e));
+            return null;
+        }
+
+        var violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            reporte.invalido(registro, nombreComida, violaciones.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+
+        LocalDate fecha = LocalDate.now();
+        JsonNode fechaNodo = nodo.get("fechaCreacionComida");
+        if (fechaNodo != null && !fechaNodo.isNull()) {
+            try {
+                fecha = LocalDate.parse(fechaNodo.asText());
+            } catch (DateTimeParseException e) {
+                reporte.invalido(registro, nombreComida, "fechaCreacionComida: formato ISO esperado (YYYY-MM-DD)");
+                return null;
+            }
+            if (fecha.isAfter(LocalDate.now())) {
+                reporte.invalido(registro, nombreComida, "fechaCreacionComida: no puede ser futura");
+                return null;
+            }
+        }
+
+        return new ComidaLeida(registro, dto, fecha);
+    }
+
+    private void escribirLote(Long userId, List<ComidaLeida> lote, Reporte reporte) {
+
+        ResultadoLoteComidasDTO resultado;
+        try {
+            resultado = transaccionLote.execute(status -> {
+                User user = userRepository.getReferenceById(userId);
+                ResultadoLoteComidasDTO registrado = comidaService.registrarComidasSinConflictos(userId, lote.stream()
+                        .map(comida -> new Comida(comida.dto(), user, comida.fecha()))
+                        .toList());
+                entityManager.flush();
+                entityManager.clear();
+                return registrado;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Nombre registrado por otra request entre la verificacion y el flush: se pierde solo este lote
+            log.warn("Lote de importacion rechazado por integridad: {}", mensajeCorto(e));
+            for (ComidaLeida comida : lote) {
+                reporte.invalido(comida.registro(), comida.dto().nombreComida(),
+                        "Lote rechazado por una restricción de integridad, reintentar");
+            }
+            return;
+        }
+
+        reporte.registradas += resultado.registradas();
+        for (ResultadoRegistroComidaDTO item : resultado.resultados()) {
+            if (item.estado() == EstadoRegistroComida.CONFLICTO) {
+                reporte.conflictos++;
+                reporte.agregarError(lote.get(item.indice()).registro(), item.nombreComida(),
+                        "Ya tienes una comida registrada con ese nombre.");
+            }
+        }
+        log.info("Importacion en curso: {} registros leidos, {} registradas", reporte.leidos, reporte.registradas);
+    }
+
+    private static String mensajeCorto(Exception e) {
+        return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+    }
+
+    private record ComidaLeida(long registro, RegistroComidaDTO dto, LocalDate fecha) {}
+
+    private static final class Reporte {
+
+        private long leidos;
+        private long registradas;
+        private long conflictos;
+        private long invalidos;
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+
+        private void invalido(long registro, String nombreComida, String mensaje) {
+            invalidos++;
+            agregarError(registro, nombreComida, mensaje);
+        }
+
+        private void agregarError(long registro, String nombreComida, String mensaje) {
+            if (errores.size() < MAXIMO_ERRORES_REPORTADOS) {
+                errores.add(new ErrorImportacionDTO(registro, nombreComida, mensaje));
+            }
+        }
+    }
+
+    // Error de formato de un solo registro: se informa y la lectura sigue con el siguiente
+    private static final class RegistroIlegible extends IOException {
+        private RegistroIlegible(String mensaje) {
+            super(mensaje);
+        }
+
+        private static RegistroIlegible excedeMaximo(int maximoCaracteres) {
+            return new RegistroIlegible("El registro excede el máximo de " + maximoCaracteres + " caracteres");
+        }
+    }
+
+    private interface LectorRegistros {
+
+        // null al terminar el archivo
+        JsonNode siguiente() throws IOException;
+    }
+
+    private static final class LectorNdjson implements LectorRegistros {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private final int maximoCaracteres;
+
+        private LectorNdjson(BufferedReader reader, ObjectMapper objectMapper, int maximoCaracteres) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+            this.maximoCaracteres = maximoCaracteres;
+        }
+
+        @Override
+        public JsonNode siguiente() throws IOException {
+
+            String linea;
+            do {
+                linea = leerLinea();
+                if (linea == null) return null;
+            } while (linea.isBlank());
+
+            JsonNode nodo;
+            try {
+                nodo = objectMapper.readTree(linea);
+            } catch (JsonProcessingException e) {
+                throw new RegistroIlegible("JSON inválido: " + e.getOriginalMessage());
+            }
+            if (!nodo.isObject()) throw new RegistroIlegible("Se esperaba un objeto JSON por línea");
+            return nodo;
+        }
+
+        // Como readLine, pero pasado el maximo descarta el resto de la linea en vez de acumularlo
+        private String leerLinea() throws IOException {
+
+            StringBuilder linea = new StringBuilder();
+            boolean excedido = false;
+            int c;
+
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (linea.length() < maximoCaracteres) {
+                    linea.append((char) c);
+                } else {
+                    excedido = true;
+                }
+            }
+
+            if (excedido) throw RegistroIlegible.excedeMaximo(maximoCaracteres);
+            if (c == -1 && linea.isEmpty()) return null;
+            if (!linea.isEmpty() && linea.charAt(linea.length() - 1) == '\r') linea.setLength(linea.length() - 1);
+            return linea.toString();
+        }
+    }
+
+    // CSV RFC 4180 con encabezado, el mismo que produce la exportacion. informacionNutricional va como JSON.
+    private static final class LectorCsv implements LectorRegistros {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private final int maximoCaracteres;
+        private List<String> encabezado;
+
+        private LectorCsv(BufferedReader reader, ObjectMapper objectMapper, int maximoCaracteres) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+            this.maximoCaracteres = maximoCaracteres;
+        }
+
+        @Override
+        public JsonNode siguiente() throws IOException {
+
+            if (encabezado == null) {
+                encabezado = leerCampos();
+                if (encabezado == null) return null;
+            }
+
+            List<String> campos;
+            do {
+                campos = leerCampos();
+                if (campos == null) return null;
+            } while (campos.size() == 1 && campos.get(0).isBlank());
+
+            if (campos.size() != encabezado.size()) {
+                throw new RegistroIlegible("Se esperaban " + encabezado.size() + " columnas y se leyeron " + campos.size());
+            }
+
+            ObjectNode nodo = objectMapper.createObjectNode();
+            for (int i = 0; i < campos.size(); i++) {
+                String columna = encabezado.get(i).trim();
+                String valor = campos.get(i);
+                if (valor.isEmpty()) continue;
+
+                switch (columna) {
+                    case "informacionNutricional" -> {
+                        try {
+                            nodo.set(columna, objectMapper.readTree(valor));
+                        } catch (JsonProcessingException e) {
+                            throw new RegistroIlegible("informacionNutricional no es JSON válido");
+                        }
+                    }
+                    // Postgres exporta booleanos como t/f
+                    case "esFavorita" -> nodo.set(columna, BooleanNode.valueOf(
+                            valor.equalsIgnoreCase("t") || valor.equalsIgnoreCase("true")));
+                    default -> nodo.put(columna, sinPrefijoFormula(valor));
+                }
+            }
+            return nodo;
+        }
+
+        // Inverso de la exportacion, que antepone ' a los textos que una planilla evaluaria como formula
+        // (=, +, -, @, tab o CR al inicio, aunque vayan detras de apostrofes propios del texto)
+        private static String sinPrefijoFormula(String valor) {
+
+            int inicio = 0;
+            while (inicio < valor.length() && valor.charAt(inicio) == '\'') inicio++;
+            if (inicio == 0 || inicio == valor.length() || "=+-@\t\r".indexOf(valor.charAt(inicio)) < 0) return valor;
+            return valor.substring(1);
+        }
+
+        // Lee un registro completo; un campo entre comillas puede contener comas, comillas dobladas y saltos de linea.
+        // Pasado el maximo se sigue leyendo hasta el fin del registro sin guardar nada, para descartarlo entero.
+        private List<String> leerCampos() throws IOException {
+
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            int caracteres = 0;
+            boolean entreComillas = false;
+            boolean leyoAlgo = false;
+            int c;
+
+            while ((c = reader.read()) != -1) {
+                leyoAlgo = true;
+                if (caracteres++ == maximoCaracteres && (c != '\n' || entreComillas)) {
+                    campos = null;
+                    campo = null;
+                }
+                if (entreComillas) {
+                    if (c != '"') {
+                        if (campo != null) campo.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        if (campo != null) campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        reader.reset();
+                    }
+                } else if (c == '"') {
+                    entreComillas = true;
+                } else if (c == ',') {
+                    if (campo != null) {
+                        campos.add(campo.toString());
+                        campo.setLength(0);
+                    }
+                } else if (c == '\n') {
+                    if (campo == null) throw RegistroIlegible.excedeMaximo(maximoCaracteres);
+                    campos.add(campo.toString());
+                    return campos;
+                } else if (c != '\r') {
+                    if (campo != null) campo.append((char) c);
+                }
+            }
+
+            if (!leyoAlgo) return null;
+            if (campo == null) throw RegistroIlegible.excedeMaximo(maximoCaracteres);
+            if (entreComillas) throw new RegistroIlegible("Campo entre comillas sin cerrar al final del archivo");
+            campos.add(campo.toString());
+            return campos;
+        }
+    }
+}
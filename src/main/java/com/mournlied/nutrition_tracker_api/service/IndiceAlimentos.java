@@ -0,0 +1,216 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.Alimento;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.SugerenciaAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import com.mournlied.nutrition_tracker_api.repository.AlimentoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Catalogo de alimentos en memoria e inmutable: ids ordenados y nutrientes por 100 g en un arreglo plano,
+// de modo que escalar una comida es una busqueda binaria sin consultar la DB ni crear entidades.
+// Incluye un indice de prefijos de los nombres para autocompletar.
+// Se reemplaza completo al confirmar un cambio del catalogo. Un id desconocido (ej: alimento creado en otra
+// instancia) fuerza una reconstruccion, como maximo una vez por intervalo para no consultar la DB en cada miss.
+@Component
+@Slf4j
+public class IndiceAlimentos {
+
+    // Orden de los nutrientes de cada alimento dentro del arreglo plano, igual al de NutrientesComida
+    private static final int NUTRIENTES_POR_ALIMENTO = 8;
+
+    private final AlimentoRepository alimentoRepository;
+    private final long intervaloReconstruccionNanos;
+    private final ReentrantLock lockReconstruccion = new ReentrantLock();
+
+    private volatile Catalogo catalogo;
+
+    public IndiceAlimentos(
+            AlimentoRepository alimentoRepository,
+            @Value("${alimentos.indice.intervalo-reconstruccion:5s}") Duration intervaloReconstruccion) {
+        this.alimentoRepository = alimentoRepository;
+        this.intervaloReconstruccionNanos = intervaloReconstruccion.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        reconstruir();
+    }
+
+    // Nutrientes del alimento escalados a la cantidad en gramos, redondeados a 2 decimales
+    public Optional<NutrientesComida> nutrientesPara(long alimentoId, int cantidadEnGramos) {
+
+        Catalogo actual = catalogo;
+        int posicion = actual == null ? -1 : actual.posicion(alimentoId);
+
+        if (posicion < 0) {
+            actual = reconstruirSiVencido(actual);
+            posicion = actual.posicion(alimentoId);
+        }
+
+        if (posicion < 0) {
+            log.debug("Alimento id {} no existe en el indice de alimentos", alimentoId);
+            return Optional.empty();
+        }
+        return Optional.of(actual.escalar(posicion, cantidadEnGramos));
+    }
+
+    public List<SugerenciaAlimentoDTO> buscarPorPrefijo(String prefijo, int limite) {
+
+        Catalogo actual = catalogoConstruido();
+
+        List<SugerenciaAlimentoDTO> sugerencias = new ArrayList<>();
+        for (int posicion : actual.indiceNombres.buscar(prefijo, limite)) {
+            sugerencias.add(new SugerenciaAlimentoDTO(actual.ids[posicion], actual.nombres.get(posicion)));
+        }
+        return sugerencias;
+    }
+
+    // Nombres de alimentos resueltos por id, en el mismo orden; omite ids que el indice aun no conoce
+    public List<SugerenciaAlimentoDTO> sugerenciasPara(List<Long> alimentoIds) {
+
+        Catalogo actual = catalogoConstruido();
+
+        List<SugerenciaAlimentoDTO> sugerencias = new ArrayList<>();
+        for (Long alimentoId : alimentoIds) {
+            int posicion = actual.posicion(alimentoId);
+            if (posicion >= 0) sugerencias.add(new SugerenciaAlimentoDTO(alimentoId, actual.nombres.get(posicion)));
+        }
+        return sugerencias;
+    }
+
+    public int cantidadAlimentos() {
+
+        Catalogo actual = catalogo;
+        return actual == null ? 0 : actual.ids.length;
+    }
+
+    public void reconstruir() {
+
+        lockReconstruccion.lock();
+        try {
+            catalogo = Catalogo.desde(alimentoRepository.findAllByOrderByAlimentoIdAsc());
+            log.info("Indice de alimentos construido con {} alimentos", catalogo.ids.length);
+        } finally {
+            lockReconstruccion.unlock();
+        }
+    }
+
+    // Dentro de una transaccion reconstruye despues del commit, para que el indice no lea el catalogo anterior
+    public void reconstruirAlConfirmar() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reconstruir();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reconstruir();
+            }
+        });
+    }
+
+    private Catalogo catalogoConstruido() {
+
+        Catalogo actual = catalogo;
+        return actual != null ? actual : reconstruirSiVencido(null);
+    }
+
+    private Catalogo reconstruirSiVencido(Catalogo catalogoObservado) {
+
+        lockReconstruccion.lock();
+        try {
+            // Otro hilo pudo reconstruir mientras se esperaba el lock
+            if (catalogo == catalogoObservado && (catalogoObservado == null
+                    || System.nanoTime() - catalogoObservado.construidoEn >= intervaloReconstruccionNanos)) {
+                reconstruir();
+            }
+            return catalogo;
+        } finally {
+            lockReconstruccion.unlock();
+        }
+    }
+
+    private static final class Catalogo {
+
+        private final long[] ids;
+        private final double[] nutrientesPor100g;
+        private final List<String> nombres;
+        private final IndicePrefijos indiceNombres;
+        private final long construidoEn;
+
+        private Catalogo(long[] ids, double[] nutrientesPor100g, List<String> nombres) {
+            this.ids = ids;
+            this.nutrientesPor100g = nutrientesPor100g;
+            this.nombres = nombres;
+            this.indiceNombres = IndicePrefijos.desde(nombres);
+            this.construidoEn = System.nanoTime();
+        }
+
+        // alimentos debe venir ordenado por id
+        static Catalogo desde(List<Alimento> alimentos) {
+
+            long[] ids = new long[alimentos.size()];
+            double[] nutrientes = new double[alimentos.size() * NUTRIENTES_POR_ALIMENTO];
+            String[] nombres = new String[alimentos.size()];
+
+            for (int i = 0; i < alimentos.size(); i++) {
+                Alimento alimento = alimentos.get(i);
+                NutrientesComida n = alimento.getNutrientesPor100g();
+                int base = i * NUTRIENTES_POR_ALIMENTO;
+
+                ids[i] = alimento.getAlimentoId();
+                nombres[i] = alimento.getNombre();
+                nutrientes[base] = n.calorias().doubleValue();
+                nutrientes[base + 1] = n.proteinas().doubleValue();
+                nutrientes[base + 2] = n.carbohidratosTotales().doubleValue();
+                nutrientes[base + 3] = n.azucares().doubleValue();
+                nutrientes[base + 4] = n.grasaSaturada().doubleValue();
+                nutrientes[base + 5] = n.grasaTrans().doubleValue();
+                nutrientes[base + 6] = n.fibra().doubleValue();
+                nutrientes[base + 7] = n.sodio().doubleValue();
+            }
+            return new Catalogo(ids, nutrientes, List.of(nombres));
+        }
+
+        int posicion(long alimentoId) {
+            return Arrays.binarySearch(ids, alimentoId);
+        }
+
+        NutrientesComida escalar(int posicion, int cantidadEnGramos) {
+
+            int base = posicion * NUTRIENTES_POR_ALIMENTO;
+            double factor = cantidadEnGramos / 100.0;
+
+            return new NutrientesComida(
+                    escalado(base, factor),
+                    escalado(base + 1, factor),
+                    escalado(base + 2, factor),
+                    escalado(base + 3, factor),
+                    escalado(base + 4, factor),
+                    escalado(base + 5, factor),
+                    escalado(base + 6, factor),
+                    escalado(base + 7, factor));
+        }
+
+        private BigDecimal escalado(int indice, double factor) {
+            return BigDecimal.valueOf(nutrientesPor100g[indice] * factor).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Indice inmutable de prefijos sobre una lista de textos. Cada texto aporta una clave por palabra
+// (el resto del texto normalizado desde esa palabra), ordenadas, para buscar "pol" en "Filete de pollo"
+// con una busqueda binaria. Los resultados son posiciones en la lista original.
+final class IndicePrefijos {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final String[] claves;
+    private final int[] posiciones;
+
+    private IndicePrefijos(String[] claves, int[] posiciones) {
+        this.claves = claves;
+        this.posiciones = posiciones;
+    }
+
+    static IndicePrefijos desde(List<String> textos) {
+
+        List<String> claves = new ArrayList<>();
+        List<Integer> posiciones = new ArrayList<>();
+
+        for (int posicion = 0; posicion < textos.size(); posicion++) {
+            String normalizado = normalizar(textos.get(posicion));
+            for (int i = 0; i < normalizado.length(); i++) {
+                boolean inicioPalabra = !Character.isWhitespace(normalizado.charAt(i))
+                        && (i == 0 || Character.isWhitespace(normalizado.charAt(i - 1)));
+                if (inicioPalabra) {
+                    claves.add(normalizado.substring(i));
+                    posiciones.add(posicion);
+                }
+            }
+        }
+
+        Integer[] orden = new Integer[claves.size()];
+        for (int i = 0; i < orden.length; i++) orden[i] = i;
+        Arrays.sort(orden, Comparator.comparing(claves::get));
+
+        String[] clavesOrdenadas = new String[orden.length];
+        int[] posicionesOrdenadas = new int[orden.length];
+        for (int i = 0; i < orden.length; i++) {
+            clavesOrdenadas[i] = claves.get(orden[i]);
+            posicionesOrdenadas[i] = posiciones.get(orden[i]);
+        }
+        return new IndicePrefijos(clavesOrdenadas, posicionesOrdenadas);
+    }
+
+    // Minusculas y sin tildes, para que "platano" encuentre "Plátano"
+    static String normalizar(String texto) {
+
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT).strip();
+    }
+
+    // Posiciones de los textos con alguna palabra que empieza con el prefijo, sin repetir, en orden de clave
+    int[] buscar(String prefijo, int limite) {
+
+        String buscado = normalizar(prefijo);
+        if (buscado.isEmpty()) return new int[0];
+
+        int[] encontradas = new int[limite];
+        int cantidad = 0;
+
+        for (int i = primeraClaveMayorOIgual(buscado); i < claves.length && cantidad < limite; i++) {
+            if (!claves[i].startsWith(buscado)) break;
+            if (!contiene(encontradas, cantidad, posiciones[i])) {
+                encontradas[cantidad++] = posiciones[i];
+            }
+        }
+        return Arrays.copyOf(encontradas, cantidad);
+    }
+
+    int cantidadClaves() {
+        return claves.length;
+    }
+
+    // Cota inferior: con claves repetidas Arrays.binarySearch puede caer en cualquiera de ellas
+    private int primeraClaveMayorOIgual(String buscado) {
+
+        int desde = 0;
+        int hasta = claves.length;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (claves[medio].compareTo(buscado) < 0) desde = medio + 1;
+            else hasta = medio;
+        }
+        return desde;
+    }
+
+    private static boolean contiene(int[] valores, int cantidad, int valor) {
+
+        for (int i = 0; i < cantidad; i++) {
+            if (valores[i] == valor) return true;
+        }
+        return false;
+    }
+}
@@ -4,48 +4,59 @@ import com.mournlied.nutrition_tracker_api.domain.user.HistorialPeso;
 import com.mournlied.nutrition_tracker_api.domain.user.InformacionPersonal;
 import com.mournlied.nutrition_tracker_api.domain.user.User;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.*;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.HistorialPesoRepository;
 import com.mournlied.nutrition_tracker_api.repository.InfoPersonalRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
 @Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
 public class InfoPersonalService {
 
     private final InfoPersonalRepository personalRepository;
     private final UserRepository userRepository;
     private final HistorialPesoRepository historialPesoRepository;
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
 
     public InfoPersonalService (InfoPersonalRepository personalRepository,
                                 UserRepository userRepository,
-                                HistorialPesoRepository historialPesoRepository){
+                                HistorialPesoRepository historialPesoRepository,
+                                ProveedorUserAutenticado proveedorUserAutenticado){
         this.personalRepository = personalRepository;
         this.userRepository = userRepository;
         this.historialPesoRepository = historialPesoRepository;
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
     }
 
-
+    @Transactional
     public InformacionPersonalDTO registrarInfoPersonal(Jwt jwt, @Valid RegistroInfoPersonalDTO registroDTO) {
 
         log.info("Request ID {}", MDC.get("requestId"));
-        User user = obtenerUserDesdeJwt(jwt);
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+        User user = userRepository.getReferenceById(userId);
 
         InformacionPersonal informacionPersonal = new InformacionPersonal(registroDTO, user);
 
         log.info("Creando nueva informacion personal");
         personalRepository.save(informacionPersonal);
+        userRepository.incrementarVersionDatos(userId);
 
         return new InformacionPersonalDTO(informacionPersonal);
     }
@@ -54,10 +65,12 @@ public class InfoPersonalService {
     public InformacionPersonalDTO actualizarInfoPersonalBase(Jwt jwt, @Valid ActualizarInfoPersonalBaseDTO actualizarDTO) {
 
         log.info("Request ID {}", MDC.get("requestId"));
-        InformacionPersonal infoPersonal = obtenerInfoPersonalConUserId(obtenerUserDesdeJwt(jwt).getUserId());
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
+        InformacionPersonal infoPersonal = obtenerInfoPersonalConUserId(userId);
 
         log.info("Actualizando informacion personal");
         patchInfoPersonalBaseDesdeDTO(infoPersonal, actualizarDTO);
+        userRepository.incrementarVersionDatos(userId);
 
         return new InformacionPersonalDTO(infoPersonal);
     }
@@ -67,41 +80,69 @@ public class InfoPersonalService {
             Jwt jwt, Pageable paginacion, @Valid RegistroHistorialPesoDTO registroHistorialPesoDTO) {
 
         log.info("Request ID {}", MDC.get("requestId"));
-        InformacionPersonal infoPersonal = obtenerInfoPersonalConUserId(obtenerUserDesdeJwt(jwt).getUserId());
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
 
-        log.info("Actualizando historial de peso");
-        infoPersonal.getHistorialPeso().add(new HistorialPeso(registroHistorialPesoDTO));
+        if (!personalRepository.existsById(userId)){throw new EntityNotFoundException("user no existe.");}
 
-        List<ObtenerHistorialPesoDTO> listaDTO = infoPersonal.getHistorialPeso().stream()
-                .map(ObtenerHistorialPesoDTO::new)
-                .toList();
+        // Insert directo sobre historial_peso: no se carga la coleccion completa de registros anteriores
+        log.info("Actualizando historial de peso");
+        historialPesoRepository.save(new HistorialPeso(
+                registroHistorialPesoDTO, personalRepository.getReferenceById(userId)));
+        userRepository.incrementarVersionDatos(userId);
 
-        return new PageImpl<>(
-                listaDTO,
-                paginacion,
-                listaDTO.size());
+        return historialPesoRepository.findByPersonalInfo_InfoPersonalId(userId, paginacion)
+                .map(ObtenerHistorialPesoDTO::new);
     }
 
+    @Transactional(readOnly = true)
     public Page<ObtenerHistorialPesoDTO> obtenerHistorialPeso(Jwt jwt, Pageable paginacion) {
 
         log.info("Request ID {}", MDC.get("requestId"));
         var historialPeso = historialPesoRepository.findByPersonalInfo_InfoPersonalId(
-                obtenerUserDesdeJwt(jwt).getUserId(),paginacion);
+                obtenerUserDesdeJwt(jwt).userId(),paginacion);
         log.info("Obteniendo historial de peso");
 
         return historialPeso.map(ObtenerHistorialPesoDTO::new);
     }
 
-    private User obtenerUserDesdeJwt(Jwt jwt){
+    @Transactional(readOnly = true)
+    public SeriePesoDTO obtenerSeriePeso(Jwt jwt, LocalDate startDate, LocalDate endDate, int puntos) {
 
-        String correoToken = jwt.getClaimAsString("email");
+        log.info("Request ID {}", MDC.get("requestId"));
+        Long userId = obtenerUserDesdeJwt(jwt).userId();
 
-        log.debug("Consultando DB por user: {}", correoToken);
-        var user = userRepository.findUserByCorreo(correoToken);
+        if (endDate == null){
+            endDate = LocalDate.now();
+        }
+        if (startDate == null){
+            startDate = endDate.minusYears(1);
+        }
+        if (startDate.isAfter(endDate)){
+            throw new ValidationException("startDate no puede ser posterior a endDate.");
+        }
+
+        // Ancho de intervalo tal que el rango completo entregue a lo mas 'puntos' puntos
+        long diasRango = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        int diasPorIntervalo = (int) ((diasRango + puntos - 1) / puntos);
+
+        log.info("Obteniendo serie de peso con intervalos de {} dias", diasPorIntervalo);
+        LocalDate finRango = endDate;
+        List<PuntoSeriePesoDTO> serie = historialPesoRepository
+                .resumirSeriePeso(userId, startDate, endDate, diasPorIntervalo)
+                .stream()
+                .map(punto -> {
+                    LocalDate finIntervalo = punto.getInicioIntervalo().plusDays(diasPorIntervalo - 1);
+                    return new PuntoSeriePesoDTO(punto, finIntervalo.isAfter(finRango) ? finRango : finIntervalo);
+                })
+                .toList();
+
+        return new SeriePesoDTO(startDate, endDate, diasPorIntervalo, serie);
+    }
 
-        if (user.isEmpty()){throw new EntityNotFoundException("User no existe.");}
+    private UserAutenticadoDTO obtenerUserDesdeJwt(Jwt jwt){
 
-        return user.get();
+        return proveedorUserAutenticado.obtener(jwt)
+                .orElseThrow(() -> new EntityNotFoundException("User no existe."));
     }
 
     private InformacionPersonal obtenerInfoPersonalConUserId(Long userId){
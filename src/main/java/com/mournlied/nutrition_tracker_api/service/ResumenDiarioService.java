@@ -0,0 +1,79 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenReconstruidoDTO;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.repository.ResumenDiarioRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Mantiene resumen_diario con deltas. Los metodos de comida exigen la transaccion de la escritura de la comida,
+// para que el rollup y comidas se confirmen o reviertan juntos.
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
+public class ResumenDiarioService {
+
+    private final ResumenDiarioRepository resumenDiarioRepository;
+
+    public ResumenDiarioService(ResumenDiarioRepository resumenDiarioRepository){
+        this.resumenDiarioRepository = resumenDiarioRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarComida(Long userId, LocalDate fecha, NutrientesComida nutrientes) {
+
+        log.debug("Sumando comida a resumen diario de userId: {} fecha: {}", userId, fecha);
+        resumenDiarioRepository.sumarDelta(userId, fecha, 1, nutrientes);
+    }
+
+    // Un solo upsert por dia para un lote de comidas
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarComidas(Long userId, LocalDate fecha, List<NutrientesComida> nutrientesComidas) {
+
+        if (nutrientesComidas.isEmpty()) return;
+
+        NutrientesComida total = nutrientesComidas.stream()
+                .reduce(NutrientesComida.CERO, NutrientesComida::sumar);
+
+        log.debug("Sumando {} comidas a resumen diario de userId: {} fecha: {}",
+                nutrientesComidas.size(), userId, fecha);
+        resumenDiarioRepository.sumarDelta(userId, fecha, nutrientesComidas.size(), total);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void actualizarComida(Long userId, LocalDate fecha,
+                                 NutrientesComida nutrientesAnteriores, NutrientesComida nutrientesNuevos) {
+
+        NutrientesComida delta = nutrientesNuevos.restar(nutrientesAnteriores);
+        if (delta.esCero()) return;
+
+        log.debug("Actualizando resumen diario de userId: {} fecha: {}", userId, fecha);
+        resumenDiarioRepository.sumarDelta(userId, fecha, 0, delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eliminarComida(Long userId, LocalDate fecha, NutrientesComida nutrientes) {
+
+        log.debug("Restando comida de resumen diario de userId: {} fecha: {}", userId, fecha);
+        resumenDiarioRepository.sumarDelta(userId, fecha, -1, nutrientes.negar());
+        resumenDiarioRepository.eliminarSiVacio(userId, fecha);
+    }
+
+    @Transactional
+    public ResumenReconstruidoDTO reconstruir(Long userId) {
+
+        log.info("Request ID {}", MDC.get("requestId"));
+        log.info("Reconstruyendo resumen diario para userId: {}", userId == null ? "todos" : userId);
+        Integer dias = resumenDiarioRepository.reconstruir(userId);
+
+        return new ResumenReconstruidoDTO(userId, dias);
+    }
+}
@@ -0,0 +1,73 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.AgrupacionResumen;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenNutricionalDTO;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.ResumenDiarioRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
+public class ResumenNutricionalService {
+
+    private static final long MAXIMO_DIAS_RANGO = 366;
+
+    private final ResumenDiarioRepository resumenDiarioRepository;
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
+
+    public ResumenNutricionalService(ResumenDiarioRepository resumenDiarioRepository,
+                                     ProveedorUserAutenticado proveedorUserAutenticado){
+        this.resumenDiarioRepository = resumenDiarioRepository;
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResumenNutricionalDTO> obtenerResumen(Jwt jwt, AgrupacionResumen agrupacion,
+                                                      LocalDate startDate, LocalDate endDate) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = proveedorUserAutenticado.obtener(jwt)
+                .orElseThrow(() -> new EntityNotFoundException("User no existe."))
+                .userId();
+
+        if (endDate == null){
+            endDate = LocalDate.now();
+        }
+        if (startDate == null){
+            startDate = agrupacion == AgrupacionResumen.SEMANA ? endDate.minusWeeks(4) : endDate.minusDays(6);
+        }
+        if (startDate.isAfter(endDate)){
+            throw new ValidationException("startDate no puede ser posterior a endDate.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAXIMO_DIAS_RANGO){
+            throw new ValidationException("El rango de fechas no puede superar " + MAXIMO_DIAS_RANGO + " días.");
+        }
+        // date_trunc rotula cada balde con su lunes: si startDate cae a mitad de semana el primer balde
+        // sumaria solo algunos dias y se presentaria como semana completa
+        if (agrupacion == AgrupacionResumen.SEMANA){
+            startDate = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        log.info("Obteniendo resumen nutricional por {}", agrupacion);
+        return resumenDiarioRepository.resumirPorPeriodo(userId, startDate, endDate, agrupacion.unidadPostgres())
+                .stream()
+                .map(ResumenNutricionalDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.SugerenciaAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.SugerenciasComidaDTO;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.AlimentoRepository;
+import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Autocompletado de nombres: primero por prefijo de palabra en memoria (CacheNombresComida e IndiceAlimentos),
+// y solo si no hay coincidencias, por similitud de trigramas en Postgres para tolerar errores de tipeo.
+// Sin @Transactional: una sugerencia resuelta en memoria no debe tomar una conexion del pool.
+@Service
+@Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
+public class SugerenciasComidaService {
+
+    // Con menos caracteres los trigramas no discriminan y la busqueda aproximada devuelve ruido
+    static final int LARGO_MINIMO_SIMILITUD = 3;
+
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
+    private final CacheNombresComida cacheNombresComida;
+    private final IndiceAlimentos indiceAlimentos;
+    private final ComidaRepository comidaRepository;
+    private final AlimentoRepository alimentoRepository;
+
+    public SugerenciasComidaService(ProveedorUserAutenticado proveedorUserAutenticado,
+                                    CacheNombresComida cacheNombresComida,
+                                    IndiceAlimentos indiceAlimentos,
+                                    ComidaRepository comidaRepository,
+                                    AlimentoRepository alimentoRepository){
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
+        this.cacheNombresComida = cacheNombresComida;
+        this.indiceAlimentos = indiceAlimentos;
+        this.comidaRepository = comidaRepository;
+        this.alimentoRepository = alimentoRepository;
+    }
+
+    public SugerenciasComidaDTO sugerir(Jwt jwt, String texto, int limite) {
+
+        log.debug("Request ID {}", MDC.get("requestId"));
+
+        Long userId = proveedorUserAutenticado.obtener(jwt)
+                .orElseThrow(() -> new EntityNotFoundException("User no existe."))
+                .userId();
+        boolean admiteSimilitud = texto.strip().length() >= LARGO_MINIMO_SIMILITUD;
+
+        List<String> comidas = cacheNombresComida.buscarPorPrefijo(userId, texto, limite);
+        if (comidas.isEmpty() && admiteSimilitud) {
+            log.debug("Sin coincidencias por prefijo en comidas, buscando por similitud");
+            comidas = comidaRepository.findNombresComidaSimilares(userId, texto.strip(), limite);
+        }
+
+        List<SugerenciaAlimentoDTO> alimentos = indiceAlimentos.buscarPorPrefijo(texto, limite);
+        if (alimentos.isEmpty() && admiteSimilitud) {
+            log.debug("Sin coincidencias por prefijo en alimentos, buscando por similitud");
+            alimentos = indiceAlimentos.sugerenciasPara(
+                    alimentoRepository.findIdsAlimentosSimilares(texto.strip(), limite));
+        }
+
+        return new SugerenciasComidaDTO(comidas, alimentos);
+    }
+}
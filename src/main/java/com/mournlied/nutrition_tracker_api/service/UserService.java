@@ -7,11 +7,14 @@ import com.mournlied.nutrition_tracker_api.domain.user.dto.ActualizarUserDTO;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.ObtenerUserAdminRequestDTO;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.ObtenerUserDTO;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.UserCreadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.config.MetricasConfig;
 import com.mournlied.nutrition_tracker_api.infra.errores.ObjetoRequeridoNoEncontrado;
 import com.mournlied.nutrition_tracker_api.infra.errores.ValidacionDeIntegridad;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.RolRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.data.domain.Page;
@@ -20,18 +23,26 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
+@Timed(MetricasConfig.TIMER_SERVICIO)
 public class UserService {
 
     private final UserRepository userRepository;
     private final RolRepository rolRepository;
+    private final CacheUserAutenticado cacheUserAutenticado;
+    private final ProveedorUserAutenticado proveedorUserAutenticado;
 
-    public UserService (UserRepository userRepository, RolRepository rolRepository){
+    public UserService (UserRepository userRepository, RolRepository rolRepository,
+                        CacheUserAutenticado cacheUserAutenticado,
+                        ProveedorUserAutenticado proveedorUserAutenticado){
 
         this.userRepository = userRepository;
         this.rolRepository = rolRepository;
+        this.cacheUserAutenticado = cacheUserAutenticado;
+        this.proveedorUserAutenticado = proveedorUserAutenticado;
     }
 
     @Transactional
@@ -50,6 +61,7 @@ public class UserService {
         return new UserCreadoDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public ObtenerUserDTO obtenerUserPorId (Long id, Authentication authentication) {
 
         log.info("Request ID {}", MDC.get("requestId"));
@@ -62,9 +74,12 @@ public class UserService {
 
         log.info("Request ID {}", MDC.get("requestId"));
         log.info("Eliminando user id: {}", id);
-        userRepository.delete(validarIdPerteneceAUserAutenticado(id, authentication));
+        User user = validarIdPerteneceAUserAutenticado(id, authentication);
+        userRepository.delete(user);
+        cacheUserAutenticado.invalidarAlConfirmar(user.getCorreo());
     }
 
+    @Transactional(readOnly = true)
     public Page<ObtenerUserAdminRequestDTO> obtenerAllUsers (Pageable paginacion){
 
         log.info("Request ID {}", MDC.get("requestId"));
@@ -87,6 +102,10 @@ public class UserService {
         }
         if (!(modDTO.estado()==null)){userInDB.setEstado(modDTO.estado());}
 
+        if (modDTO.rolId() != null || modDTO.estado() != null) {
+            cacheUserAutenticado.invalidarAlConfirmar(userInDB.getCorreo());
+        }
+
         return new ObtenerUserAdminRequestDTO(userInDB);
     }
 
@@ -95,7 +114,9 @@ public class UserService {
 
         log.info("Request ID {}", MDC.get("requestId"));
         log.info("Eliminando user id: {}", id);
-        userRepository.delete(obtenerUserDesdeUserId(id));
+        User user = obtenerUserDesdeUserId(id);
+        userRepository.delete(user);
+        cacheUserAutenticado.invalidarAlConfirmar(user.getCorreo());
     }
 
     private User validaYCreaUserDesdeAutenticacion(Authentication authentication){
@@ -128,17 +149,14 @@ public class UserService {
 
         Jwt jwt = (Jwt) authentication.getPrincipal();
 
-        String correoLoggeado = jwt.getClaimAsString("email");
-
-        log.debug("Consultando DB por user: {}", correoLoggeado);
-        var userLoggeado = userRepository.findUserByCorreo(correoLoggeado);
+        var userLoggeado = proveedorUserAutenticado.obtener(jwt);
 
         if (userLoggeado.isEmpty()) {throw new ObjetoRequeridoNoEncontrado("User no registrada/o.");}
 
-        if (!userLoggeado.get().getUserId().equals(id)) {
+        if (!userLoggeado.get().userId().equals(id)) {
             throw new AccessDeniedException("Id no corresponde a la cuenta ingresada actualmente.");
         }
 
-        return userLoggeado.get();
+        return obtenerUserDesdeUserId(id);
     }
 }
@@ -0,0 +1,3 @@
+-- Soporta el historial por cursor: filtra por user y recorre (fecha, id) sin ordenar en memoria
+
+CREATE INDEX idx_comidas_user_fecha_id ON comidas(user_id, comida_creacion, comida_id);
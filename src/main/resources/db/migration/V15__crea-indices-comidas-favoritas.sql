@@ -0,0 +1,6 @@
+-- Favoritas: solo indexa las filas marcadas y entrega el orden por fecha del listado sin sort
+
+CREATE INDEX idx_comidas_user_fecha_favoritas ON comidas(user_id, comida_creacion DESC) WHERE es_favorita;
+
+-- idx_comidas_user_fecha_id (V14) empieza por user_id y cubre el filtro por rango de fechas y la FK
+DROP INDEX IF EXISTS idx_comidas_user_id;
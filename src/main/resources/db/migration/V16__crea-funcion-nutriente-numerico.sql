@@ -0,0 +1,16 @@
+-- Extrae un nutriente de info_nutricional como numeric. Valores ausentes o no numericos cuentan como 0,
+-- para que un dato mal ingresado en una comida no haga fallar la agregacion completa.
+
+CREATE OR REPLACE FUNCTION nutriente_numerico(info JSONB, ruta TEXT[])
+RETURNS NUMERIC
+LANGUAGE SQL
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT CASE
+        WHEN jsonb_typeof(info #> ruta) = 'number' THEN (info #>> ruta)::NUMERIC
+        WHEN jsonb_typeof(info #> ruta) = 'string' AND (info #>> ruta) ~ '^\s*-?[0-9]+(\.[0-9]+)?\s*$'
+            THEN trim(info #>> ruta)::NUMERIC
+        ELSE 0
+    END
+$$;
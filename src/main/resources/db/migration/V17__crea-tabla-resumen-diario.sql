@@ -0,0 +1,54 @@
+CREATE TABLE resumen_diario (
+    user_id BIGINT NOT NULL,
+    fecha DATE NOT NULL,
+    cantidad_comidas INTEGER NOT NULL DEFAULT 0,
+    calorias NUMERIC NOT NULL DEFAULT 0,
+    proteinas NUMERIC NOT NULL DEFAULT 0,
+    carbohidratos_totales NUMERIC NOT NULL DEFAULT 0,
+    azucares NUMERIC NOT NULL DEFAULT 0,
+    grasa_saturada NUMERIC NOT NULL DEFAULT 0,
+    grasa_trans NUMERIC NOT NULL DEFAULT 0,
+    fibra NUMERIC NOT NULL DEFAULT 0,
+    sodio NUMERIC NOT NULL DEFAULT 0,
+    CONSTRAINT pk_resumen_diario PRIMARY KEY (user_id, fecha),
+    CONSTRAINT fk_resumen_diario_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+-- Recalcula el resumen desde comidas para un user, o para todos si p_user_id es NULL.
+-- El lock bloquea los upserts de deltas concurrentes hasta el commit, asi ninguna comida se cuenta dos veces.
+CREATE OR REPLACE FUNCTION reconstruir_resumen_diario(p_user_id BIGINT)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    filas INTEGER;
+BEGIN
+    LOCK TABLE resumen_diario IN SHARE ROW EXCLUSIVE MODE;
+
+    DELETE FROM resumen_diario WHERE p_user_id IS NULL OR user_id = p_user_id;
+
+    INSERT INTO resumen_diario (user_id, fecha, cantidad_comidas, calorias, proteinas, carbohidratos_totales,
+                                azucares, grasa_saturada, grasa_trans, fibra, sodio)
+    SELECT c.user_id,
+           c.comida_creacion,
+           COUNT(*),
+           SUM(nutriente_numerico(c.info_nutricional, '{calorias}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{proteinas}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{carbohidratos,totales}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{carbohidratos,azucares}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{grasa,saturada}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{grasa,trans}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{fibra}')),
+           SUM(nutriente_numerico(c.info_nutricional, '{sodio}'))
+    FROM comidas c
+    WHERE c.user_id IS NOT NULL
+      AND c.comida_creacion IS NOT NULL
+      AND (p_user_id IS NULL OR c.user_id = p_user_id)
+    GROUP BY c.user_id, c.comida_creacion;
+
+    GET DIAGNOSTICS filas = ROW_COUNT;
+    RETURN filas;
+END
+$$;
+
+SELECT reconstruir_resumen_diario(NULL);
@@ -0,0 +1,3 @@
+-- Hibernate reserva bloques de 50 ids por llamada a nextval (optimizador pooled) para poder agrupar INSERTs en batch.
+-- El valor retornado es el limite superior del bloque, por lo que los ids ya asignados no se reutilizan.
+ALTER SEQUENCE comidas_comida_id_seq INCREMENT BY 50;
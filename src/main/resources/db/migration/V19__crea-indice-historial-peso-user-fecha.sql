@@ -0,0 +1,4 @@
+-- Soporta la serie de peso por rango de fechas; reemplaza al indice solo por user_id, que queda cubierto como prefijo
+
+CREATE INDEX idx_historial_peso_user_fecha ON historial_peso(user_id, fecha_registro);
+DROP INDEX idx_historial_peso_user_id;
@@ -0,0 +1,4 @@
+-- Version de los datos de cada user (comidas, historial de peso, info personal); se incrementa en cada escritura
+-- y se usa como ETag de los GET de listas, para responder 304 sin ejecutar la consulta
+
+ALTER TABLE users ADD COLUMN version_datos BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,62 @@
+-- Nutrientes agregables de info_nutricional como columnas numericas, para que sumas y filtros por rango no
+-- extraigan el JSONB fila por fila. info_nutricional se mantiene como fuente de los datos adicionales.
+-- La aplicacion completa las columnas en cada escritura (Comida.nutrientes), con la misma regla que nutriente_numerico.
+
+ALTER TABLE comidas
+    ADD COLUMN calorias NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN proteinas NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN carbohidratos_totales NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN azucares NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN grasa_saturada NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN grasa_trans NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN fibra NUMERIC NOT NULL DEFAULT 0,
+    ADD COLUMN sodio NUMERIC NOT NULL DEFAULT 0;
+
+UPDATE comidas SET
+    calorias = nutriente_numerico(info_nutricional, '{calorias}'),
+    proteinas = nutriente_numerico(info_nutricional, '{proteinas}'),
+    carbohidratos_totales = nutriente_numerico(info_nutricional, '{carbohidratos,totales}'),
+    azucares = nutriente_numerico(info_nutricional, '{carbohidratos,azucares}'),
+    grasa_saturada = nutriente_numerico(info_nutricional, '{grasa,saturada}'),
+    grasa_trans = nutriente_numerico(info_nutricional, '{grasa,trans}'),
+    fibra = nutriente_numerico(info_nutricional, '{fibra}'),
+    sodio = nutriente_numerico(info_nutricional, '{sodio}')
+WHERE info_nutricional IS NOT NULL;
+
+-- Filtro de historial por proteinas minimas dentro del rango de fechas de un user
+CREATE INDEX idx_comidas_user_fecha_proteinas ON comidas(user_id, comida_creacion, proteinas);
+
+CREATE OR REPLACE FUNCTION reconstruir_resumen_diario(p_user_id BIGINT)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    filas INTEGER;
+BEGIN
+    LOCK TABLE resumen_diario IN SHARE ROW EXCLUSIVE MODE;
+
+    DELETE FROM resumen_diario WHERE p_user_id IS NULL OR user_id = p_user_id;
+
+    INSERT INTO resumen_diario (user_id, fecha, cantidad_comidas, calorias, proteinas, carbohidratos_totales,
+                                azucares, grasa_saturada, grasa_trans, fibra, sodio)
+    SELECT c.user_id,
+           c.comida_creacion,
+           COUNT(*),
+           SUM(c.calorias),
+           SUM(c.proteinas),
+           SUM(c.carbohidratos_totales),
+           SUM(c.azucares),
+           SUM(c.grasa_saturada),
+           SUM(c.grasa_trans),
+           SUM(c.fibra),
+           SUM(c.sodio)
+    FROM comidas c
+    WHERE c.user_id IS NOT NULL
+      AND c.comida_creacion IS NOT NULL
+      AND (p_user_id IS NULL OR c.user_id = p_user_id)
+    GROUP BY c.user_id, c.comida_creacion;
+
+    GET DIAGNOSTICS filas = ROW_COUNT;
+    RETURN filas;
+END
+$$;
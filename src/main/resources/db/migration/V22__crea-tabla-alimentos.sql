@@ -0,0 +1,29 @@
+-- Catalogo compartido de alimentos con nutrientes por 100 g. Una comida puede referenciar un alimento y la
+-- aplicacion escala sus nutrientes segun cantidad_gramos; info_nutricional guarda el resultado escalado.
+
+CREATE TABLE alimentos (
+    alimento_id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(150) NOT NULL,
+    calorias NUMERIC NOT NULL DEFAULT 0,
+    proteinas NUMERIC NOT NULL DEFAULT 0,
+    carbohidratos_totales NUMERIC NOT NULL DEFAULT 0,
+    azucares NUMERIC NOT NULL DEFAULT 0,
+    grasa_saturada NUMERIC NOT NULL DEFAULT 0,
+    grasa_trans NUMERIC NOT NULL DEFAULT 0,
+    fibra NUMERIC NOT NULL DEFAULT 0,
+    sodio NUMERIC NOT NULL DEFAULT 0,
+    CONSTRAINT nombre_alimento_unico UNIQUE (nombre)
+);
+
+ALTER TABLE comidas
+    ADD COLUMN alimento_id BIGINT,
+    ADD CONSTRAINT fk_comida_alimento FOREIGN KEY (alimento_id) REFERENCES alimentos(alimento_id) ON DELETE SET NULL;
+
+-- Seed alimentos comunes
+INSERT INTO alimentos (nombre, calorias, proteinas, carbohidratos_totales, azucares, grasa_saturada, grasa_trans, fibra, sodio) VALUES
+    ('Filete de pollo', 165, 31, 0, 0, 1, 0, 0, 74),
+    ('Arroz blanco cocido', 130, 2.7, 28, 0.1, 0.1, 0, 0.4, 1),
+    ('Huevo entero', 143, 12.6, 0.7, 0.4, 3.1, 0, 0, 142),
+    ('Avena en hojuelas', 389, 16.9, 66.3, 0, 1.2, 0, 10.6, 2),
+    ('Manzana', 52, 0.3, 13.8, 10.4, 0, 0, 2.4, 1),
+    ('Palta', 160, 2, 8.5, 0.7, 2.1, 0, 6.7, 7);
@@ -0,0 +1,8 @@
+-- Busqueda aproximada de nombres para autocompletar (word_similarity / operador <%).
+-- btree_gin permite incluir user_id en el mismo indice GIN, asi la busqueda queda acotada a las comidas del user.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_comidas_user_nombre_trgm ON comidas USING GIN (user_id, nombre_comida gin_trgm_ops);
+CREATE INDEX idx_alimentos_nombre_trgm ON alimentos USING GIN (nombre gin_trgm_ops);
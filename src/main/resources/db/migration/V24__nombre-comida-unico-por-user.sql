@@ -0,0 +1,6 @@
+-- El nombre de una comida es unico dentro de las comidas de cada user, no en toda la tabla.
+-- El indice compuesto empieza por user_id: resuelve las busquedas por (user, nombre) y
+-- las inserciones de users distintos ya no compiten por las mismas entradas del indice global.
+
+ALTER TABLE comidas ADD CONSTRAINT nombre_comida_user_unico UNIQUE (user_id, nombre_comida);
+ALTER TABLE comidas DROP CONSTRAINT nombre_comida_unico;
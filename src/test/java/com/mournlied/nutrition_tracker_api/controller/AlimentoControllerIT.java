@@ -0,0 +1,130 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+@Transactional
+@Rollback
+class AlimentoControllerIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //Migracion V22 siembra el catalogo; 'Filete de pollo' es el alimento 1 (165 kcal, 31 g proteinas, 74 mg sodio)
+    @Test
+    void testRegistrarComidaDesdeAlimento_alimentoSembrado_debeEscalarNutrientesYActualizarColumnas() throws Exception{
+
+        RegistroComidaAlimentoDTO entradaDTO = new RegistroComidaAlimentoDTO(
+                "almuerzo de pollo", 1L, 150, null, "Almuerzo", false);
+
+        mockMvc.perform(post("/api/tracker/comida/alimento")
+                            .header("Authorization", "Bearer mock-token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(entradaDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.informacionNutricional.calorias").value(247.5))
+                .andExpect(jsonPath("$.informacionNutricional.proteinas").value(46.5))
+                .andExpect(jsonPath("$.informacionNutricional.carbohidratos.totales").value(0));
+
+        Map<String, Object> fila = jdbcTemplate.queryForMap(
+                "SELECT alimento_id, proteinas, sodio FROM comidas WHERE nombre_comida = 'almuerzo de pollo'");
+        assertEquals(1L, ((Number) fila.get("alimento_id")).longValue());
+        assertEquals(0, new BigDecimal("46.5").compareTo((BigDecimal) fila.get("proteinas")));
+        assertEquals(0, new BigDecimal("111").compareTo((BigDecimal) fila.get("sodio")));
+    }
+
+    @Test
+    void testRegistrarComidaDesdeAlimento_alimentoNoExiste_debeRetornar404() throws Exception{
+
+        mockMvc.perform(post("/api/tracker/comida/alimento")
+                            .header("Authorization", "Bearer mock-token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(
+                                    new RegistroComidaAlimentoDTO("comida fantasma", 999L, 100, null, "Snack", false))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRegistrarAlimento_admin_debeRetornar201YQuedarDisponibleEnCatalogo() throws Exception{
+
+        RegistroAlimentoDTO entradaDTO = new RegistroAlimentoDTO("Lentejas cocidas",
+                new BigDecimal("116"), new BigDecimal("9"), new BigDecimal("20"), new BigDecimal("1.8"),
+                new BigDecimal("0.1"), BigDecimal.ZERO, new BigDecimal("7.9"), new BigDecimal("2"));
+
+        String location = mockMvc.perform(post("/api/alimentos")
+                            .header("Authorization", "Bearer mock-token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(entradaDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nombre").value("Lentejas cocidas"))
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location)
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nutrientesPor100g.fibra").value(7.9));
+    }
+
+    @Test
+    void testRegistrarAlimento_nombreYaExiste_debeRetornar409() throws Exception{
+
+        RegistroAlimentoDTO entradaDTO = new RegistroAlimentoDTO("Manzana",
+                new BigDecimal("52"), new BigDecimal("0.3"), new BigDecimal("13.8"), new BigDecimal("10.4"),
+                BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("2.4"), BigDecimal.ONE);
+
+        mockMvc.perform(post("/api/alimentos")
+                            .header("Authorization", "Bearer mock-token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(entradaDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("Ya existe un alimento registrado con ese nombre."));
+    }
+}
@@ -0,0 +1,112 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.ObtenerAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import com.mournlied.nutrition_tracker_api.infra.errores.TratadorDeErrores;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
+import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.RolRepository;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import com.mournlied.nutrition_tracker_api.service.AlimentoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AlimentoController.class)
+@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class, CacheUserAutenticado.class,
+        IndiceJerarquiaRoles.class, ProveedorUserAutenticado.class})
+class AlimentoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @MockitoBean
+    AlimentoService alimentoService;
+    @MockitoBean
+    UserRepository userRepository;
+    @MockitoBean
+    RolRepository rolRepository;
+    @MockitoBean
+    PlatformTransactionManager transactionManager;
+
+    private final NutrientesComida nutrientesPollo = NutrientesComida.desde(
+            Map.of("calorias", 165, "proteinas", 31, "sodio", 74));
+
+    private final RegistroAlimentoDTO registroDTO = new RegistroAlimentoDTO("Filete de pollo",
+            new BigDecimal("165"), new BigDecimal("31"), BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("74"));
+
+    @Test
+    void testObtenerListaAlimentos_debeRetornar200YNutrientesPor100g() throws Exception{
+
+        when(alimentoService.obtenerListaAlimentos(any(Pageable.class))).thenReturn(new PageImpl<>(
+                List.of(new ObtenerAlimentoDTO(1L, "Filete de pollo", nutrientesPollo)), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/alimentos")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].alimentoId").value(1))
+                .andExpect(jsonPath("$.content[0].nutrientesPor100g.proteinas").value(31));
+    }
+
+    @Test
+    void testRegistrarAlimento_adminConDatosValidos_debeRetornar201YLocation() throws Exception{
+
+        when(alimentoService.registrarAlimento(any(RegistroAlimentoDTO.class)))
+                .thenReturn(new ObtenerAlimentoDTO(7L, "Filete de pollo", nutrientesPollo));
+
+        mockMvc.perform(post("/api/alimentos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registroDTO))
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/alimentos/7"))
+                .andExpect(jsonPath("$.alimentoId").value(7));
+    }
+
+    @Test
+    void testRegistrarAlimento_nutrienteNegativo_debeRetornar400() throws Exception{
+
+        RegistroAlimentoDTO invalido = new RegistroAlimentoDTO("Filete de pollo",
+                new BigDecimal("-1"), new BigDecimal("31"), BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("74"));
+
+        mockMvc.perform(post("/api/alimentos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalido))
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(alimentoService);
+    }
+}
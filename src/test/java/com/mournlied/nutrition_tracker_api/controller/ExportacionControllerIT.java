@@ -0,0 +1,93 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin @Transactional: el cuerpo se escribe en otro hilo con su propia transaccion y solo ve datos confirmados
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+class ExportacionControllerIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // Fetch size menor que la cantidad de comidas semilla para recorrer el cursor en varios viajes
+        registry.add("exportacion.tamano-fetch", () -> 4);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testExportarComidas_ndjson_debeTransmitirTodasLasComidasEnOrdenCronologico() throws Exception{
+
+        String[] lineas = exportar("/api/exportar/comidas").split("\n");
+
+        assertEquals(9, lineas.length);
+        JsonNode primera = mapper.readTree(lineas[0]);
+        JsonNode ultima = mapper.readTree(lineas[8]);
+        assertEquals(LocalDate.now().minusDays(8).toString(), primera.get("fechaCreacionComida").asText());
+        assertEquals(LocalDate.now().toString(), ultima.get("fechaCreacionComida").asText());
+        assertEquals(11, ultima.get("informacionNutricional").get("proteinas").asInt());
+    }
+
+    @Test
+    void testExportarComidas_csv_debeTransmitirEncabezadoYUnaLineaPorComida() throws Exception{
+
+        String[] lineas = exportar("/api/exportar/comidas?formato=CSV").split("\r\n");
+
+        assertEquals(10, lineas.length);
+        assertTrue(lineas[0].startsWith("comidaId,nombreComida,fechaCreacionComida"));
+    }
+
+    private String exportar(String url) throws Exception {
+
+        MvcResult resultado = mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.infra.errores.TratadorDeErrores;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
+import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.RolRepository;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import com.mournlied.nutrition_tracker_api.service.ExportacionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportacionController.class)
+@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class, CacheUserAutenticado.class,
+        IndiceJerarquiaRoles.class, ProveedorUserAutenticado.class})
+class ExportacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    ExportacionService exportacionService;
+    @MockitoBean
+    UserRepository userRepository;
+    @MockitoBean
+    RolRepository rolRepository;
+    @MockitoBean
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @WithMockUser
+    void testExportarComidas_sinFormato_debeTransmitirNdjsonComoAdjunto() throws Exception{
+
+        StreamingResponseBody cuerpo = salida -> salida.write("{\"comidaId\":1}\n".getBytes(StandardCharsets.UTF_8));
+        when(exportacionService.exportarComidas(any(Jwt.class), eq(FormatoExportacion.NDJSON))).thenReturn(cuerpo);
+
+        MvcResult resultado = mockMvc.perform(get("/api/exportar/comidas")
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"comidas.ndjson\""))
+                .andExpect(content().string("{\"comidaId\":1}\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void testExportarHistorialPeso_formatoCsv_debeTransmitirCsv() throws Exception{
+
+        StreamingResponseBody cuerpo = salida -> salida.write("fechaActual,pesoActual\r\n".getBytes(StandardCharsets.UTF_8));
+        when(exportacionService.exportarHistorialPeso(any(Jwt.class), eq(FormatoExportacion.CSV))).thenReturn(cuerpo);
+
+        MvcResult resultado = mockMvc.perform(get("/api/exportar/historial-peso?formato=CSV")
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"historial-peso.csv\""))
+                .andExpect(content().string("fechaActual,pesoActual\r\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void testExportarComidas_formatoInvalido_debeRetornar400() throws Exception{
+
+        mockMvc.perform(get("/api/exportar/comidas?formato=XML")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportacionService);
+    }
+}
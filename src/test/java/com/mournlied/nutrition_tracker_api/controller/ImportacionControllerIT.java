@@ -0,0 +1,115 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin @Transactional: cada lote se confirma en su propia transaccion
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+@Slf4j
+class ImportacionControllerIT {
+
+    private static final int CANTIDAD_REGISTROS = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testImportarComidas_archivoGrande_debeRegistrarTodoYReportarThroughput() throws Exception{
+
+        byte[] archivo = generarNdjson("importada", CANTIDAD_REGISTROS);
+
+        JsonNode primera = importar(archivo);
+        log.info("Importacion de {} registros: {} ms, {} registros/s", CANTIDAD_REGISTROS,
+                primera.get("duracionMs").asLong(), primera.get("registrosPorSegundo").asDouble());
+
+        assertEquals(CANTIDAD_REGISTROS, primera.get("registrosLeidos").asInt());
+        assertEquals(CANTIDAD_REGISTROS, primera.get("registradas").asInt());
+        assertEquals(0, primera.get("invalidos").asInt());
+        assertTrue(primera.get("registrosPorSegundo").asDouble() > 0);
+
+        Integer comidasImportadas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM comidas WHERE nombre_comida LIKE 'importada %'", Integer.class);
+        assertEquals(CANTIDAD_REGISTROS, comidasImportadas);
+
+        // El rollup diario debe reflejar las comidas importadas con fecha propia
+        Integer proteinasDelDia = jdbcTemplate.queryForObject(
+                "SELECT r.proteinas FROM resumen_diario r JOIN users u ON u.user_id = r.user_id " +
+                        "WHERE u.correo = 'admin1@mournlied.com' AND r.fecha = ?",
+                Integer.class, LocalDate.now().minusDays(30));
+        assertEquals(CANTIDAD_REGISTROS * 2, proteinasDelDia);
+
+        // Reimportar el mismo archivo solo produce conflictos
+        JsonNode segunda = importar(archivo);
+        assertEquals(0, segunda.get("registradas").asInt());
+        assertEquals(CANTIDAD_REGISTROS, segunda.get("conflictos").asInt());
+    }
+
+    private JsonNode importar(byte[] archivo) throws Exception {
+
+        String respuesta = mockMvc.perform(post("/api/importar/comidas?formato=NDJSON")
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType("application/x-ndjson")
+                        .content(archivo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(respuesta);
+    }
+
+    private static byte[] generarNdjson(String prefijo, int cantidad) {
+
+        String fecha = LocalDate.now().minusDays(30).toString();
+        StringBuilder archivo = new StringBuilder(cantidad * 200);
+        for (int i = 0; i < cantidad; i++) {
+            archivo.append("{\"nombreComida\":\"").append(prefijo).append(' ').append(i)
+                    .append("\",\"fechaCreacionComida\":\"").append(fecha)
+                    .append("\",\"cantidadEnGramos\":").append(100 + i % 50)
+                    .append(",\"tipoComida\":\"Snack\",\"informacionNutricional\":{\"proteinas\":2,\"carbohidratos\":5}")
+                    .append(",\"esFavorita\":false}\n");
+        }
+        return archivo.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.mournlied.nutrition_tracker_api.controller;
+
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.domain.importacion.dto.ErrorImportacionDTO;
+import com.mournlied.nutrition_tracker_api.domain.importacion.dto.ResultadoImportacionDTO;
+import com.mournlied.nutrition_tracker_api.infra.errores.TratadorDeErrores;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
+import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.RolRepository;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import com.mournlied.nutrition_tracker_api.service.ImportacionComidasService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportacionController.class)
+@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class, CacheUserAutenticado.class,
+        IndiceJerarquiaRoles.class, ProveedorUserAutenticado.class})
+class ImportacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    ImportacionComidasService importacionComidasService;
+    @MockitoBean
+    UserRepository userRepository;
+    @MockitoBean
+    RolRepository rolRepository;
+    @MockitoBean
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @WithMockUser
+    void testImportarComidas_csv_debeEntregarCuerpoSinBufferYRetornarReporte() throws Exception{
+
+        when(importacionComidasService.importarComidas(any(Jwt.class), eq(FormatoExportacion.CSV), any(InputStream.class)))
+                .thenAnswer(invocacion -> {
+                    String cuerpo = new String(invocacion.getArgument(2, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+                    assertEquals("nombreComida\r\nx\r\n", cuerpo);
+                    return new ResultadoImportacionDTO(1, 0, 0, 1,
+                            List.of(new ErrorImportacionDTO(1, "x", "cantidadEnGramos: must not be null")), 5, 200.0);
+                });
+
+        mockMvc.perform(post("/api/importar/comidas?formato=CSV")
+                        .contentType("text/csv")
+                        .content("nombreComida\r\nx\r\n")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registrosLeidos").value(1))
+                .andExpect(jsonPath("$.invalidos").value(1))
+                .andExpect(jsonPath("$.errores[0].registro").value(1))
+                .andExpect(jsonPath("$.registrosPorSegundo").value(200.0));
+    }
+
+    @Test
+    @WithMockUser
+    void testImportarComidas_formatoInvalido_debeRetornar400() throws Exception{
+
+        mockMvc.perform(post("/api/importar/comidas?formato=XLSX")
+                        .content("x")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(importacionComidasService);
+    }
+}
@@ -209,6 +209,7 @@ class InfoPersonalControllerIT {
                             .content(mapper.writeValueAsString(entradaDTO)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].pesoActual").value(100))
+                .andExpect(jsonPath("$.totalElements").value(1))
                 .andExpect(jsonPath("$.pageable.pageNumber").value(0))
                 .andExpect(jsonPath("$.pageable.pageSize").value(7))
                 .andExpect(jsonPath("$.pageable.sort.sorted").value(true));
@@ -259,4 +260,35 @@ class InfoPersonalControllerIT {
                 .andExpect(jsonPath("$.pageable.pageSize").value(7))
                 .andExpect(jsonPath("$.pageable.sort.sorted").value(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObtenerSeriePeso_treintaRegistrosEnTresPuntos_debeAgruparEnPostgres() throws Exception{
+
+        jdbcTemplate.execute("""
+                INSERT INTO historial_peso(user_id, peso_registro, fecha_registro)
+                SELECT
+                    u.user_id,
+                    100 - s,
+                    CURRENT_DATE - s
+                FROM
+                    generate_series(0, 29) s,
+                    users u
+                WHERE u.correo = 'admin1@mournlied.com';""");
+
+        mockMvc.perform(get("/api/personal/historial-peso/serie")
+                            .param("startDate", LocalDate.now().minusDays(29).toString())
+                            .param("endDate", LocalDate.now().toString())
+                            .param("puntos", "3")
+                            .with(jwt().jwt(adminJwt)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.diasPorIntervalo").value(10))
+                .andExpect(jsonPath("$.puntos", hasSize(3)))
+                .andExpect(jsonPath("$.puntos[0].inicioIntervalo").value(LocalDate.now().minusDays(29).toString()))
+                .andExpect(jsonPath("$.puntos[0].cantidadRegistros").value(10))
+                .andExpect(jsonPath("$.puntos[0].pesoMinimo").value(71))
+                .andExpect(jsonPath("$.puntos[0].pesoPromedio").value(75.5))
+                .andExpect(jsonPath("$.puntos[0].pesoMaximo").value(80))
+                .andExpect(jsonPath("$.puntos[2].finIntervalo").value(LocalDate.now().toString()))
+                .andExpect(jsonPath("$.puntos[2].pesoMaximo").value(100));
+    }
+}
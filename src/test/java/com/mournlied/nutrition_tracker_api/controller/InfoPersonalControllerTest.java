@@ -4,7 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.*;
 import com.mournlied.nutrition_tracker_api.infra.errores.TratadorDeErrores;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
 import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.InfoPersonalRepository;
 import com.mournlied.nutrition_tracker_api.repository.RolRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
@@ -22,13 +25,18 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
@@ -36,7 +44,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(InfoPersonalController.class)
-@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class})
+@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class, CacheUserAutenticado.class,
+        IndiceJerarquiaRoles.class, ProveedorUserAutenticado.class})
 class InfoPersonalControllerTest {
 
     @Autowired
@@ -50,6 +59,8 @@ class InfoPersonalControllerTest {
     UserRepository userRepository;
     @MockitoBean
     RolRepository rolRepository;
+    @MockitoBean
+    PlatformTransactionManager transactionManager;
 
     @Captor
     private ArgumentCaptor<Authentication> authCaptor;
@@ -309,4 +320,38 @@ class InfoPersonalControllerTest {
         assertEquals(PageRequest.of(1,2, Sort.by("fechaActual").descending()),
                 paginacionCaptor.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void testObtenerSeriePeso_conParams_debeRetornar200() throws Exception{
+
+        SeriePesoDTO salida = new SeriePesoDTO(
+                LocalDate.of(2025,1,1),
+                LocalDate.of(2025,12,31),
+                8,
+                List.of(new PuntoSeriePesoDTO(LocalDate.of(2025,1,1), LocalDate.of(2025,1,8),
+                        4L, 79, new BigDecimal("80.25"), 82)));
+
+        when(personalService.obtenerSeriePeso(any(Jwt.class), eq(LocalDate.of(2025,1,1)),
+                eq(LocalDate.of(2025,12,31)), eq(50))).thenReturn(salida);
+
+        mockMvc.perform(get("/api/personal/historial-peso/serie?startDate=2025-01-01&endDate=2025-12-31&puntos=50")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.diasPorIntervalo").value(8))
+                .andExpect(jsonPath("$.puntos[0].pesoMinimo").value(79))
+                .andExpect(jsonPath("$.puntos[0].pesoPromedio").value(80.25))
+                .andExpect(jsonPath("$.puntos[0].finIntervalo").value("2025-01-08"));
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerSeriePeso_puntosFueraDeRango_debeRetornar400() throws Exception{
+
+        mockMvc.perform(get("/api/personal/historial-peso/serie?puntos=1")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        verify(personalService, never()).obtenerSeriePeso(any(), any(), any(), anyInt());
+    }
+}
@@ -2,7 +2,9 @@ package com.mournlied.nutrition_tracker_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaPorIdDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroLoteComidasDTO;
 import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
 import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
 import jakarta.transaction.Transactional;
@@ -24,10 +26,13 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -59,6 +64,8 @@ class TrackerControllerIT {
     private MockMvc mockMvc;
     @Autowired
     private ComidaRepository comidaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     private final ObjectMapper mapper = new ObjectMapper();
 
@@ -120,7 +127,35 @@ class TrackerControllerIT {
                         .content(mapper.writeValueAsString(entradaDTO)))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.detail")
-                        .value("Ya existe una comida registrada con ese nombre."));
+                        .value("Ya tienes una comida registrada con ese nombre."));
+    }
+
+    @Test
+    void testRegistrarLoteComidas_conNombreExistente_debeRegistrarRestoYActualizarResumen() throws Exception{
+
+        List<RegistroComidaDTO> comidas = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            comidas.add(new RegistroComidaDTO("comida lote " + i, 100, "test", "Snack", Map.of("proteinas", 1), false));
+        }
+        comidas.add(new RegistroComidaDTO("comida numero 1", 100, "test", "Snack", Map.of("proteinas", 1), false));
+
+        mockMvc.perform(post("/api/tracker/comida/lote")
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new RegistroLoteComidasDTO(comidas))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registradas").value(60))
+                .andExpect(jsonPath("$.conflictos").value(1))
+                .andExpect(jsonPath("$.resultados[60].estado").value("CONFLICTO"))
+                .andExpect(jsonPath("$.resultados[59].comida.nombreComida").value("comida lote 59"));
+
+        String hoy = "?startDate=" + LocalDate.now() + "&endDate=" + LocalDate.now();
+
+        mockMvc.perform(get("/api/tracker/resumen" + hoy)
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cantidadComidas").value(61))
+                .andExpect(jsonPath("$[0].proteinas").value(71));
     }
 
     @Test
@@ -189,6 +224,123 @@ class TrackerControllerIT {
                         .value(LocalDate.now().minusDays(2).toString()));
     }
 
+    @Test
+    void testObtenerListaComidas_conProteinasMin_debeFiltrarPorColumnaNumerica() throws Exception{
+
+        // Semilla: proteinas = 10 + s, solo s = 5..7 superan el minimo dentro de los ultimos 7 dias
+        mockMvc.perform(get("/api/tracker/historial?proteinasMin=15")
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].fechaCreacionComida")
+                        .value(LocalDate.now().minusDays(4).toString()))
+                .andExpect(jsonPath("$.content[0].informacionNutricional.proteinas").value(15));
+    }
+
+    @Test
+    void testObtenerListaComidasConCursor_recorrerPaginas_debeRetornarTodasLasComidasSinRepetir() throws Exception{
+
+        String primera = mockMvc.perform(get("/api/tracker/historial?cursor=&size=4")
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(4)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.content[0].fechaCreacionComida")
+                        .value(LocalDate.now().toString()))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = mapper.readTree(primera).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tracker/historial?size=4&cursor=" + nextCursor)
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))//Sin start/endDate solo ultimos 7 dias
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.content[0].fechaCreacionComida")
+                        .value(LocalDate.now().minusDays(4).toString()));
+    }
+
+    @Test
+    void testObtenerListaComidasConCursor_cursorInvalido_debeRetornar400() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/historial?cursor=no-es-un-cursor")
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Cursor inválido."));
+    }
+
+    @Test
+    void testObtenerResumenNutricional_porDiaSinFechas_debeSumarNutrientesEnPostgres() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/resumen")
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(7)))
+                .andExpect(jsonPath("$[0].inicioPeriodo").value(LocalDate.now().minusDays(6).toString()))
+                .andExpect(jsonPath("$[0].cantidadComidas").value(1))
+                .andExpect(jsonPath("$[0].proteinas").value(17))
+                .andExpect(jsonPath("$[0].carbohidratos.totales").value(44))
+                .andExpect(jsonPath("$[0].sodio").value(0));
+    }
+
+    @Test
+    void testObtenerResumenNutricional_porSemana_debeSumarTodasLasComidasDelRango() throws Exception{
+
+        LocalDate startDate = LocalDate.now().minusDays(8);
+
+        String respuesta = mockMvc.perform(get("/api/tracker/resumen?agrupacion=SEMANA&startDate=" + startDate)
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        int totalComidas = 0;
+        int totalProteinas = 0;
+        for (var periodo : mapper.readTree(respuesta)) {
+            totalComidas += periodo.get("cantidadComidas").asInt();
+            totalProteinas += periodo.get("proteinas").asInt();
+        }
+        assertEquals(9, totalComidas);
+        assertEquals(135, totalProteinas);//sum(10 + s) para s = 1..9
+    }
+
+    @Test
+    void testResumenDiario_registrarYEliminarComida_debeActualizarRollupDelDia() throws Exception{
+
+        RegistroComidaDTO registroDTO = new RegistroComidaDTO(
+                "comida resumen",
+                100,
+                "test",
+                "Snack",
+                Map.of("proteinas", 30, "sodio", 120),
+                false);
+
+        mockMvc.perform(post("/api/tracker/comida")
+                            .header("Authorization", "Bearer mock-token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(registroDTO)))
+                .andExpect(status().isOk());
+
+        String hoy = "?startDate=" + LocalDate.now() + "&endDate=" + LocalDate.now();
+
+        mockMvc.perform(get("/api/tracker/resumen" + hoy)
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cantidadComidas").value(2))
+                .andExpect(jsonPath("$[0].proteinas").value(41))//11 de la comida semilla de hoy
+                .andExpect(jsonPath("$[0].sodio").value(120));
+
+        mockMvc.perform(delete("/api/tracker/comida?nombreComida=comida resumen")
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tracker/resumen" + hoy)
+                            .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cantidadComidas").value(1))
+                .andExpect(jsonPath("$[0].proteinas").value(11))
+                .andExpect(jsonPath("$[0].sodio").value(0));
+    }
+
     @Test
     void testObtenerListaComidas_SortIncorrecto_debeRetornar400() throws Exception{
 
@@ -290,7 +442,8 @@ class TrackerControllerIT {
                             .header("Authorization", "Bearer mock-token"))
                 .andExpect(status().isOk());
 
-        assertEquals(Optional.empty(), comidaRepository.findByNombreComida("comida numero 1"));
+        assertEquals(Optional.empty(), comidaRepository.findByUserUserIdAndNombreComida(
+                idUser("admin1@mournlied.com"), "comida numero 1"));
     }
 
     @Test
@@ -302,4 +455,126 @@ class TrackerControllerIT {
                 .andExpect(jsonPath("$.detail")
                         .value("Required parameter 'nombreComida' is not present."));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObtenerListaComidas_etagTrasRegistrarComida_debeDejarDeSerVigente() throws Exception{
+
+        String etag = mockMvc.perform(get("/api/tracker/historial")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tracker/historial")
+                        .header("Authorization", "Bearer mock-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        RegistroComidaDTO registroDTO = new RegistroComidaDTO(
+                "comida etag", 100, "descripcion", "Snack", Map.of("proteinas", 5), false);
+        mockMvc.perform(post("/api/tracker/comida")
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(registroDTO)))
+                .andExpect(status().isOk());
+
+        String etagNuevo = mockMvc.perform(get("/api/tracker/historial")
+                        .header("Authorization", "Bearer mock-token")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(8)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(etag, etagNuevo);
+    }
+
+    @Test
+    void testObtenerSugerencias_prefijoDePalabra_debeRetornarComidasYAlimentos() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto=num&limite=5")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comidas", hasSize(5)))
+                .andExpect(jsonPath("$.comidas[0]").value(startsWith("comida numero")));
+
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto=pol")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alimentos[0].nombre").value("Filete de pollo"));
+    }
+
+    @Test
+    void testObtenerSugerencias_textoConErrorDeTipeo_debeBuscarPorSimilitud() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto=cmida")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comidas", hasSize(9)));
+
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto=polo")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alimentos[0].nombre").value("Filete de pollo"));
+    }
+
+    @Test
+    void testRegistrarNuevaComida_nombreUsadoPorOtroUser_debeRegistrarla() throws Exception{
+
+        Long comidaIdOtroUser = insertarComida(idUser("user1@mournlied.com"), "almuerzo compartido");
+        RegistroComidaDTO entradaDTO = new RegistroComidaDTO(
+                "almuerzo compartido", 200, "test", "Almuerzo", Map.of("proteinas", 20), false);
+
+        mockMvc.perform(post("/api/tracker/comida")
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(entradaDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comidaId").isNumber())
+                .andExpect(jsonPath("$.nombreComida").value("almuerzo compartido"));
+
+        assertTrue(comidaRepository.findById(comidaIdOtroUser).isPresent());
+    }
+
+    @Test
+    void testActualizarComidaPorId_comidaPropia_debeRetornar200() throws Exception{
+
+        Long comidaId = comidaRepository.findByUserUserIdAndNombreComida(
+                idUser("admin1@mournlied.com"), "comida numero 2").orElseThrow().getComidaId();
+        ActualizarComidaPorIdDTO entradaDTO = new ActualizarComidaPorIdDTO(
+                "comida renombrada", 321, null, null, null, null);
+
+        mockMvc.perform(patch("/api/tracker/comida/" + comidaId)
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(entradaDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comidaId").value(comidaId))
+                .andExpect(jsonPath("$.nombreComida").value("comida renombrada"))
+                .andExpect(jsonPath("$.cantidadEnGramos").value(321));
+    }
+
+    @Test
+    void testEliminarComidaPorId_comidaDeOtroUser_debeRetornar404SinEliminar() throws Exception{
+
+        Long comidaIdOtroUser = insertarComida(idUser("user1@mournlied.com"), "cena ajena");
+
+        mockMvc.perform(delete("/api/tracker/comida/" + comidaIdOtroUser)
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Comida no existe."));
+
+        assertTrue(comidaRepository.findById(comidaIdOtroUser).isPresent());
+    }
+
+    private Long idUser(String correo){
+        return jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE correo = ?", Long.class, correo);
+    }
+
+    private Long insertarComida(Long userId, String nombreComida){
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO comidas(user_id, comida_creacion, cantidad_gramos, tipo_comida, info_nutricional, nombre_comida, es_favorita)
+                VALUES (?, CURRENT_DATE, 100, 'Cena', '{}'::jsonb, ?, false)
+                RETURNING comida_id
+                """, Long.class, userId, nombreComida);
+    }
+}
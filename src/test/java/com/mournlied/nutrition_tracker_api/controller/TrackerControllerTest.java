@@ -1,18 +1,38 @@
 package com.mournlied.nutrition_tracker_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.SugerenciaAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.AgrupacionResumen;
+import com.mournlied.nutrition_tracker_api.domain.comida.EstadoRegistroComida;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaPorIdDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.PaginaCursorComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaAlimentoDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoRegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenNutricionalDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenReconstruidoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.SugerenciasComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
 import com.mournlied.nutrition_tracker_api.infra.errores.TratadorDeErrores;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
 import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
 import com.mournlied.nutrition_tracker_api.repository.RolRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
 import com.mournlied.nutrition_tracker_api.service.ComidaService;
+import com.mournlied.nutrition_tracker_api.service.ResumenDiarioService;
+import com.mournlied.nutrition_tracker_api.service.ResumenNutricionalService;
+import com.mournlied.nutrition_tracker_api.service.SugerenciasComidaService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
@@ -23,25 +43,38 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TrackerController.class)
-@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class})
+@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class, CacheUserAutenticado.class,
+        IndiceJerarquiaRoles.class, ProveedorUserAutenticado.class})
 class TrackerControllerTest {
 
     @Autowired
@@ -50,11 +83,19 @@ class TrackerControllerTest {
     @MockitoBean
     ComidaService comidaService;
     @MockitoBean
+    ResumenNutricionalService resumenNutricionalService;
+    @MockitoBean
+    ResumenDiarioService resumenDiarioService;
+    @MockitoBean
+    SugerenciasComidaService sugerenciasComidaService;
+    @MockitoBean
     ComidaRepository comidaRepository;
     @MockitoBean
     UserRepository userRepository;
     @MockitoBean
     RolRepository rolRepository;
+    @MockitoBean
+    PlatformTransactionManager transactionManager;
 
     @Captor
     private ArgumentCaptor<Authentication> authCaptor;
@@ -74,6 +115,7 @@ class TrackerControllerTest {
                 false);
 
         ObtenerComidaDTO dtoSalida = new ObtenerComidaDTO(
+                1L,
                 "comida test",
                 LocalDate.of(2025,6,20),
                 500,
@@ -127,6 +169,115 @@ class TrackerControllerTest {
                         .value(hasItem("must not be null")));
     }
 
+    @Test
+    @WithMockUser
+    void testRegistrarLoteComidas_requestValida_debeRetornar200YResultadoPorComida() throws Exception {
+
+        RegistroComidaDTO registroDTO = new RegistroComidaDTO(
+                "comida test",
+                500,
+                "descripcion test",
+                "Desayuno",
+                Map.of("test key","test value"),
+                false);
+
+        ResultadoLoteComidasDTO dtoSalida = new ResultadoLoteComidasDTO(0, 1, List.of(
+                new ResultadoRegistroComidaDTO(0, "comida test", EstadoRegistroComida.CONFLICTO, null)));
+
+        when(comidaService.registrarLoteComidas(any(Jwt.class), any(RegistroLoteComidasDTO.class))).thenReturn(dtoSalida);
+
+        mockMvc.perform(post("/api/tracker/comida/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegistroLoteComidasDTO(List.of(registroDTO))))
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registradas").value(0))
+                .andExpect(jsonPath("$.conflictos").value(1))
+                .andExpect(jsonPath("$.resultados[0].estado").value("CONFLICTO"));
+    }
+
+    @Test
+    @WithMockUser
+    void testRegistrarLoteComidas_loteSobreLimite_debeRetornar400() throws Exception {
+
+        RegistroComidaDTO registroDTO = new RegistroComidaDTO(
+                "comida test", 500, null, "Desayuno", Map.of("test key","test value"), false);
+
+        mockMvc.perform(post("/api/tracker/comida/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new RegistroLoteComidasDTO(Collections.nCopies(101, registroDTO))))
+                        .with(jwt()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail[?(@.dato == 'comidas')].error")
+                        .value(hasItem("size must be between 0 and 100")));
+
+        verifyNoInteractions(comidaService);
+    }
+
+    @Test
+    @WithMockUser
+    void testRegistrarComidaDesdeAlimento_requestValida_debeRetornar200() throws Exception {
+
+        RegistroComidaAlimentoDTO registroDTO = new RegistroComidaAlimentoDTO(
+                "almuerzo pollo", 1L, 150, null, "Almuerzo", false);
+
+        when(comidaService.registrarComidaDesdeAlimento(any(Jwt.class), eq(registroDTO)))
+                .thenReturn(new ObtenerComidaDTO(1L, "almuerzo pollo", LocalDate.now(), 150, null, "Almuerzo",
+                        Map.of("proteinas", 46.5)));
+
+        mockMvc.perform(post("/api/tracker/comida/alimento")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registroDTO))
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.informacionNutricional.proteinas").value(46.5));
+    }
+
+    @Test
+    @WithMockUser
+    void testRegistrarComidaDesdeAlimento_cantidadNoPositiva_debeRetornar400() throws Exception {
+
+        mockMvc.perform(post("/api/tracker/comida/alimento")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new RegistroComidaAlimentoDTO("almuerzo pollo", 1L, 0, null, "Almuerzo", false)))
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(comidaService);
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerSugerencias_textoValido_debeRetornar200ConComidasYAlimentos() throws Exception {
+
+        when(sugerenciasComidaService.sugerir(any(Jwt.class), eq("pol"), eq(10)))
+                .thenReturn(new SugerenciasComidaDTO(
+                        List.of("Almuerzo de pollo"), List.of(new SugerenciaAlimentoDTO(1L, "Filete de pollo"))));
+
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto=pol")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comidas[0]").value("Almuerzo de pollo"))
+                .andExpect(jsonPath("$.alimentos[0].alimentoId").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerSugerencias_textoEnBlancoOLimiteFueraDeRango_debeRetornar400() throws Exception {
+
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto= ")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tracker/comida/sugerencias?texto=pol&limite=50")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(sugerenciasComidaService);
+    }
+
     @Test
     void testRegistrarNuevaComida_requestSinAutenticacion_debeRetornar403() throws Exception{
 
@@ -139,6 +290,7 @@ class TrackerControllerTest {
     void testObtenerListaComidas_sinParams_debeRetornar200YPaginacionPorDefecto() throws Exception{
 
         ObtenerComidaDTO comidaDTO = new ObtenerComidaDTO(
+                1L,
                 "test",
                 LocalDate.of(2025,6,20),
                 500,
@@ -152,7 +304,7 @@ class TrackerControllerTest {
                 PageRequest.of(0,10, Sort.by("fechaCreacionComida").descending()),
                 3);
 
-        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(),any()))
+        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(),any(),any()))
                 .thenReturn(pageDTO);
 
         mockMvc.perform(get("/api/tracker/historial")
@@ -168,7 +320,7 @@ class TrackerControllerTest {
         ArgumentCaptor<LocalDate> endCaptor = ArgumentCaptor.forClass(LocalDate.class);
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
 
-        verify(comidaService).obtenerListaComidas(any(Jwt.class), pageableCaptor.capture(), startCaptor.capture(), endCaptor.capture());
+        verify(comidaService).obtenerListaComidas(any(Jwt.class), pageableCaptor.capture(), startCaptor.capture(), endCaptor.capture(), any());
 
         assertNull(startCaptor.getValue());
         assertNull(endCaptor.getValue());
@@ -180,6 +332,7 @@ class TrackerControllerTest {
     void testObtenerListaComidas_conParamsStartDateYEndDate_debeRetornar200YObtenerParametrosCorrectos() throws Exception{
 
         ObtenerComidaDTO comidaDTO = new ObtenerComidaDTO(
+                1L,
                 "test",
                 LocalDate.of(2025,6,20),
                 500,
@@ -193,7 +346,7 @@ class TrackerControllerTest {
                 PageRequest.of(0,10, Sort.by("fechaCreacionComida").descending()),
                 3);
 
-        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(LocalDate.class),any(LocalDate.class)))
+        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(LocalDate.class),any(LocalDate.class),any()))
                 .thenReturn(pageDTO);
 
         mockMvc.perform(get("/api/tracker/historial?startDate=2025-06-01&endDate=2025-06-08")
@@ -204,7 +357,7 @@ class TrackerControllerTest {
         ArgumentCaptor<LocalDate> startCaptor = ArgumentCaptor.forClass(LocalDate.class);
         ArgumentCaptor<LocalDate> endCaptor = ArgumentCaptor.forClass(LocalDate.class);
 
-        verify(comidaService).obtenerListaComidas(any(Jwt.class), any(Pageable.class), startCaptor.capture(), endCaptor.capture());
+        verify(comidaService).obtenerListaComidas(any(Jwt.class), any(Pageable.class), startCaptor.capture(), endCaptor.capture(), any());
 
         assertEquals(startCaptor.getValue(), LocalDate.of(2025,6,1));
         assertEquals(endCaptor.getValue(), LocalDate.of(2025,6,8));
@@ -215,6 +368,7 @@ class TrackerControllerTest {
     void testObtenerListaComidas_conPaginacion_debeRetornar200YObtenerPaginacionCorrecta() throws Exception{
 
         ObtenerComidaDTO comidaDTO = new ObtenerComidaDTO(
+                1L,
                 "test",
                 LocalDate.of(2025,6,20),
                 500,
@@ -228,7 +382,7 @@ class TrackerControllerTest {
                 PageRequest.of(2,1, Sort.by("cantidadEnGramos").ascending()),
                 3);
 
-        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(),any()))
+        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(),any(),any()))
                 .thenReturn(pageDTO);
 
         mockMvc.perform(get("/api/tracker/historial?page=2&size=1&sort=cantidadEnGramos,ASC")
@@ -238,7 +392,7 @@ class TrackerControllerTest {
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
 
-        verify(comidaService).obtenerListaComidas(any(Jwt.class), pageableCaptor.capture(), any(), any());
+        verify(comidaService).obtenerListaComidas(any(Jwt.class), pageableCaptor.capture(), any(), any(), any());
 
         assertEquals(pageableCaptor.getValue(),PageRequest.of(
                                                     2,
@@ -246,11 +400,133 @@ class TrackerControllerTest {
                                                     Sort.by("cantidadEnGramos").ascending()));
     }
 
+    @Test
+    @WithMockUser
+    void testObtenerListaComidasConCursor_cursorVacio_debeUsarModoCursorSinPaginaNiConteo() throws Exception{
+
+        ObtenerComidaDTO comidaDTO = new ObtenerComidaDTO(
+                1L,
+                "test",
+                LocalDate.of(2025,6,20),
+                500,
+                "test",
+                "test",
+                Map.of("test key","test value"));
+
+        when(comidaService.obtenerListaComidasConCursor(any(Jwt.class), eq(""), eq(2), any(), any()))
+                .thenReturn(new PaginaCursorComidasDTO(List.of(comidaDTO, comidaDTO), 2, true, "c2lndWllbnRl"));
+
+        mockMvc.perform(get("/api/tracker/historial?cursor=&size=2")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("c2lndWllbnRl"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(comidaService, never()).obtenerListaComidas(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerListaComidas_conProteinasMin_debePasarFiltroAlService() throws Exception{
+
+        when(comidaService.obtenerListaComidas(any(Jwt.class),any(Pageable.class),any(),any(),any()))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/tracker/historial?proteinasMin=40.5")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(comidaService).obtenerListaComidas(any(Jwt.class), any(Pageable.class), any(), any(),
+                eq(new BigDecimal("40.5")));
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerListaComidas_proteinasMinNegativo_debeRetornar400() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/historial?proteinasMin=-1")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(comidaService);
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerListaComidasConCursor_sizeFueraDeRango_debeRetornar400() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/historial?cursor=&size=500")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(comidaService, never()).obtenerListaComidasConCursor(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerResumenNutricional_agrupacionSemana_debeRetornar200YResumenCompacto() throws Exception{
+
+        ResumenNutricionalDTO resumen = new ResumenNutricionalDTO(
+                LocalDate.of(2025,6,16),
+                3L,
+                new BigDecimal("1500"),
+                new BigDecimal("90"),
+                new ResumenNutricionalDTO.Carbohidratos(new BigDecimal("120"), new BigDecimal("30")),
+                new ResumenNutricionalDTO.Grasa(new BigDecimal("10.5"), BigDecimal.ZERO),
+                new BigDecimal("12"),
+                new BigDecimal("800"));
+
+        when(resumenNutricionalService.obtenerResumen(
+                any(Jwt.class), eq(AgrupacionResumen.SEMANA), eq(LocalDate.of(2025,6,1)), eq(null)))
+                .thenReturn(List.of(resumen));
+
+        mockMvc.perform(get("/api/tracker/resumen?agrupacion=SEMANA&startDate=2025-06-01")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].inicioPeriodo").value("2025-06-16"))
+                .andExpect(jsonPath("$[0].carbohidratos.totales").value(120))
+                .andExpect(jsonPath("$[0].grasa.saturada").value(10.5));
+    }
+
+    @Test
+    @WithMockUser
+    void testObtenerResumenNutricional_agrupacionInvalida_debeRetornar400() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/resumen?agrupacion=MES")
+                        .with(jwt())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(resumenNutricionalService, never()).obtenerResumen(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void testReconstruirResumenDiario_conUserId_debeRetornar200YDiasReconstruidos() throws Exception{
+
+        when(resumenDiarioService.reconstruir(5L)).thenReturn(new ResumenReconstruidoDTO(5L, 12));
+
+        mockMvc.perform(post("/api/tracker/resumen/reconstruir?userId=5")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(5))
+                .andExpect(jsonPath("$.diasReconstruidos").value(12));
+    }
+
     @Test
     @WithMockUser
     void testObtenerListaComidasFavoritas_sinParams_debeRetornar200YPaginacionPorDefecto() throws Exception{
 
         ObtenerComidaDTO comidaDTO = new ObtenerComidaDTO(
+                1L,
                 "test",
                 LocalDate.of(2025,6,20),
                 500,
@@ -288,6 +564,7 @@ class TrackerControllerTest {
     void testObtenerListaComidasFavoritas_conPaginacion_debeRetornar200YObtenerPaginacionCorrecta() throws Exception{
 
         ObtenerComidaDTO comidaDTO = new ObtenerComidaDTO(
+                1L,
                 "test",
                 LocalDate.of(2025,6,20),
                 500,
@@ -330,6 +607,7 @@ class TrackerControllerTest {
                 true);
 
         ObtenerComidaDTO dtoSalida = new ObtenerComidaDTO(
+                1L,
                 "test nuevo",
                 LocalDate.of(2025,6,20),
                 500,
@@ -337,7 +615,7 @@ class TrackerControllerTest {
                 "test",
                 Map.of("test key","test value"));
 
-        when(comidaService.actualizarComida(requestDTO)).thenReturn(dtoSalida);
+        when(comidaService.actualizarComida(any(Jwt.class), eq(requestDTO))).thenReturn(dtoSalida);
 
         mockMvc.perform(patch("/api/tracker/comida")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -347,7 +625,7 @@ class TrackerControllerTest {
                 .andExpect(jsonPath("$.nombreComida").value("test nuevo"))
                 .andExpect(jsonPath("$.informacionNutricional").isMap());
 
-        verify(comidaService).actualizarComida(requestDTO);
+        verify(comidaService).actualizarComida(any(Jwt.class), eq(requestDTO));
     }
 
     @Test
@@ -372,6 +650,48 @@ class TrackerControllerTest {
                         .value("must not be blank"));
     }
 
+    @Test
+    @WithMockUser
+    void testActualizarComidaPorId_requestValida_debeRetornar200ConId() throws Exception{
+
+        ActualizarComidaPorIdDTO requestDTO = new ActualizarComidaPorIdDTO(
+                "test nuevo", 500, null, null, null, true);
+
+        when(comidaService.actualizarComidaPorId(any(Jwt.class), eq(42L), eq(requestDTO)))
+                .thenReturn(new ObtenerComidaDTO(42L, "test nuevo", LocalDate.of(2025,6,20), 500,
+                        "test", "test", Map.of("test key","test value")));
+
+        mockMvc.perform(patch("/api/tracker/comida/42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO))
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comidaId").value(42))
+                .andExpect(jsonPath("$.nombreComida").value("test nuevo"));
+    }
+
+    @Test
+    @WithMockUser
+    void testEliminarComidaPorId_requestValida_debeRetornar200() throws Exception{
+
+        mockMvc.perform(delete("/api/tracker/comida/42")
+                        .with(jwt()))
+                .andExpect(status().isOk());
+
+        verify(comidaService).eliminarComidaPorId(any(Jwt.class), eq(42L));
+    }
+
+    @Test
+    @WithMockUser
+    void testEliminarComidaPorId_idNoNumerico_debeRetornar400() throws Exception{
+
+        mockMvc.perform(delete("/api/tracker/comida/abc")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(comidaService);
+    }
+
     @Test
     @WithMockUser
     void testEliminarComida_requestValida_debeRetornar200() throws Exception{
@@ -382,7 +702,7 @@ class TrackerControllerTest {
 
         ArgumentCaptor<String> nombreCaptor = ArgumentCaptor.forClass(String.class);
 
-        verify(comidaService).eliminarComida(nombreCaptor.capture());
+        verify(comidaService).eliminarComida(any(Jwt.class), nombreCaptor.capture());
 
         assertEquals("test", nombreCaptor.getValue());
     }
@@ -397,4 +717,51 @@ class TrackerControllerTest {
                 .andExpect(jsonPath("$.detail")
                         .value("eliminarComida.nombreComida: must not be blank"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObtenerListaComidas_ifNoneMatchConVersionVigente_debeRetornar304SinConsultar() throws Exception {
+
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 1)));
+        when(userRepository.findVersionDatosByUserId(1L)).thenReturn(Optional.of(5L));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        String etag = mockMvc.perform(get("/api/tracker/historial")
+                        .with(jwt().jwt(j -> j.claim("email", "test@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertEquals("\"1-5-" + LocalDate.now().toEpochDay() + "-0\"", etag);
+
+        mockMvc.perform(get("/api/tracker/historial")
+                        .header("If-None-Match", etag)
+                        .with(jwt().jwt(j -> j.claim("email", "test@example.com"))))
+                .andExpect(status().isNotModified());
+
+        verify(comidaService).obtenerListaComidas(any(Jwt.class), any(Pageable.class), any(), any(), any());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void testObtenerListaComidasFavoritas_ifNoneMatchDeVersionAnterior_debeRetornar200() throws Exception {
+
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 1)));
+        when(userRepository.findVersionDatosByUserId(1L)).thenReturn(Optional.of(6L));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        mockMvc.perform(get("/api/tracker/favoritas")
+                        .header("If-None-Match", "\"1-5-" + LocalDate.now().toEpochDay() + "-0\"")
+                        .with(jwt().jwt(j -> j.claim("email", "test@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-6-" + LocalDate.now().toEpochDay() + "-0\""));
+
+        // Version y pagina en la misma transaccion readOnly, la version primero
+        InOrder orden = inOrder(transactionManager, userRepository, comidaService);
+        orden.verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        orden.verify(userRepository).findVersionDatosByUserId(1L);
+        orden.verify(comidaService).obtenerListaComidasFavoritas(any(Jwt.class), any(Pageable.class));
+        orden.verify(transactionManager).rollback(any());
+    }
+}
@@ -5,7 +5,11 @@ import com.mournlied.nutrition_tracker_api.domain.user.dto.*;
 import com.mournlied.nutrition_tracker_api.infra.errores.ObjetoRequeridoNoEncontrado;
 import com.mournlied.nutrition_tracker_api.infra.errores.TratadorDeErrores;
 import com.mournlied.nutrition_tracker_api.infra.errores.ValidacionDeIntegridad;
+import com.mournlied.nutrition_tracker_api.infra.logging.MdcLoggingFilter;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
 import com.mournlied.nutrition_tracker_api.infra.security.CustomJwtRoleAndPermissionConverter;
+import com.mournlied.nutrition_tracker_api.infra.security.IndiceJerarquiaRoles;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.RolRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
 import com.mournlied.nutrition_tracker_api.service.UserService;
@@ -26,6 +30,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -40,7 +45,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
-@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class})
+@Import({TratadorDeErrores.class, CustomJwtRoleAndPermissionConverter.class, CacheUserAutenticado.class,
+        IndiceJerarquiaRoles.class, ProveedorUserAutenticado.class})
 class UserControllerTest {
 
     @Autowired
@@ -52,6 +58,8 @@ class UserControllerTest {
     private UserRepository userRepository;
     @MockitoBean
     private RolRepository rolRepository;
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
 
     @Captor
     private ArgumentCaptor<Authentication> authCaptor;
@@ -97,6 +105,14 @@ class UserControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void testObtenerUser_sinToken_debeRetornar401ConRequestId() throws Exception {
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists(MdcLoggingFilter.HEADER_REQUEST_ID));
+    }
+
     @Test
     @WithMockUser
     void testCrearUser_jwtNoValido_InternalServerError() throws Exception {
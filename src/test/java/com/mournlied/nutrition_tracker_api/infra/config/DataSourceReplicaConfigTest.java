@@ -0,0 +1,71 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataSourceReplicaConfigTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection conexionPrimary;
+    @Mock
+    private Connection conexionReplica;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(conexionPrimary);
+        lenient().when(replica.getConnection()).thenReturn(conexionReplica);
+        lenient().when(conexionPrimary.getAutoCommit()).thenReturn(true);
+        lenient().when(conexionReplica.getAutoCommit()).thenReturn(true);
+        dataSource = new DataSourceReplicaConfig().dataSource(primary, replica);
+    }
+
+    private void ejecutarSentencia(boolean readOnly){
+
+        TransactionTemplate transaccion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaccion.setReadOnly(readOnly);
+        transaccion.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void testDataSource_transaccionReadOnly_debeUsarReplica() throws SQLException {
+
+        ejecutarSentencia(true);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testDataSource_transaccionEscritura_debeUsarPrimary() throws SQLException {
+
+        ejecutarSentencia(false);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+}
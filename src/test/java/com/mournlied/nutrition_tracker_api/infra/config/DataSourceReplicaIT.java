@@ -0,0 +1,114 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+class DataSourceReplicaIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("replicadb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void migrarReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String baseDeDatosActual(boolean readOnly){
+
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(readOnly);
+        return transaccion.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    @Test
+    void testTransaccionReadOnly_debeEjecutarseEnReplica(){
+
+        assertEquals("replicadb", baseDeDatosActual(true));
+    }
+
+    @Test
+    void testTransaccionEscritura_debeEjecutarseEnPrimary(){
+
+        assertEquals("testdb", baseDeDatosActual(false));
+    }
+
+    @Test
+    void testSinTransaccion_debeEjecutarseEnPrimary(){
+
+        assertEquals("testdb", jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    // La replica se migra pero no recibe escrituras posteriores: el incremento de version queda solo en el primario
+    @Test
+    void testListaConEtag_replicaAtrasada_etagDebeCorresponderALaPaginaServida() throws Exception{
+
+        String etag = mockMvc.perform(get("/api/tracker/favoritas")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        jdbcTemplate.update("UPDATE users SET version_datos = version_datos + 1 WHERE correo = 'admin1@mournlied.com'");
+
+        // La replica sigue sirviendo la misma pagina: su ETag no debe tomar la version nueva del primario
+        mockMvc.perform(get("/api/tracker/favoritas")
+                        .header("If-None-Match", etag)
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,146 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import com.mournlied.nutrition_tracker_api.NutritionTrackerApiApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compara el modo de hilos de plataforma con el de hilos virtuales sobre la misma DB y el mismo tamano de pool.
+// Cada modo levanta su propio contexto en un puerto aleatorio; correr con -Pjava21 para incluir el modo virtual.
+@Testcontainers
+@EnabledForJreRange(min = JRE.JAVA_21)
+@Slf4j
+class HilosVirtualesCargaIT {
+
+    private static final int TAMANO_POOL = 10;
+    private static final int CLIENTES_CONCURRENTES = 200;
+    private static final int REQUESTS_POR_CLIENTE = 25;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @Test
+    void testCarga_hilosPlataformaVsVirtuales_debeAtenderTodasLasRequestsConMismoPool() throws Exception{
+
+        ResultadoCarga plataforma = medir("test");
+        ResultadoCarga virtuales = medir("test", "virtual-threads");
+
+        log.info("Hilos de plataforma: {}", plataforma);
+        log.info("Hilos virtuales:     {}", virtuales);
+
+        int esperadas = CLIENTES_CONCURRENTES * REQUESTS_POR_CLIENTE;
+        assertEquals(esperadas, plataforma.exitosas());
+        assertEquals(esperadas, virtuales.exitosas());
+    }
+
+    private ResultadoCarga medir(String... perfiles) throws Exception {
+
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(NutritionTrackerApiApplication.class)
+                // Como argumentos de linea de comando para que tengan prioridad sobre application.yml y application-test.yml
+                .run("--spring.profiles.active=" + String.join(",", perfiles),
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.datasource.hikari.maximum-pool-size=" + TAMANO_POOL,
+                        "--spring.jpa.show-sql=false")) {
+
+            URI uri = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+                    + "/api/tracker/historial");
+            HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            // Calentamiento para no medir la carga de clases ni la primera conexion del pool
+            enviar(cliente, uri, CLIENTES_CONCURRENTES, 2);
+            return enviar(cliente, uri, CLIENTES_CONCURRENTES, REQUESTS_POR_CLIENTE);
+        }
+    }
+
+    private ResultadoCarga enviar(HttpClient cliente, URI uri, int clientes, int requestsPorCliente) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer mock-token")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        List<Future<long[]>> resultados = new ArrayList<>(clientes);
+        // Cliente con un hilo por cliente simulado; compila en Java 17 aunque el test solo corre en 21
+        ExecutorService ejecutor = Executors.newFixedThreadPool(clientes);
+        try {
+            for (int c = 0; c < clientes; c++) {
+                resultados.add(ejecutor.submit(() -> {
+                    long[] latencias = new long[requestsPorCliente];
+                    for (int r = 0; r < requestsPorCliente; r++) {
+                        long t0 = System.nanoTime();
+                        HttpResponse<Void> respuesta = cliente.send(request, HttpResponse.BodyHandlers.discarding());
+                        // Las requests fallidas se marcan con latencia negativa
+                        latencias[r] = respuesta.statusCode() == 200 ? System.nanoTime() - t0 : -1;
+                    }
+                    return latencias;
+                }));
+            }
+            ejecutor.shutdown();
+            ejecutor.awaitTermination(5, TimeUnit.MINUTES);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        long duracionNanos = System.nanoTime() - inicio;
+
+        long[] exitosas = resultados.stream()
+                .map(ResultadoCarga::obtener)
+                .flatMapToLong(Arrays::stream)
+                .filter(latencia -> latencia >= 0)
+                .sorted()
+                .toArray();
+        return new ResultadoCarga(exitosas.length, exitosas.length / (duracionNanos / 1e9),
+                percentilMs(exitosas, 0.50), percentilMs(exitosas, 0.95), percentilMs(exitosas, 0.99));
+    }
+
+    private static double percentilMs(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) return 0;
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    private record ResultadoCarga(int exitosas, double requestsPorSegundo, double p50Ms, double p95Ms, double p99Ms) {
+
+        static long[] obtener(Future<long[]> futuro) {
+            try {
+                return futuro.get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d ok, %.1f req/s, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms",
+                    exitosas, requestsPorSegundo, p50Ms, p95Ms, p99Ms);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.mournlied.nutrition_tracker_api.infra.config;
+
+import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Los tests desactivan el export de metricas por defecto; @AutoConfigureObservability lo vuelve a habilitar.
+// Las estadisticas de Hibernate solo se activan en los perfiles que exportan metricas, como prod
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+class MetricasIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testPrometheus_trasConsultarHistorial_debeExponerTimersDeServiceRepositorioPoolYHibernate() throws Exception{
+
+        mockMvc.perform(get("/api/tracker/historial")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+                .contains("nutrition_servicio_seconds{")
+                .contains("class=\"com.mournlied.nutrition_tracker_api.service.ComidaService\"")
+                .contains("quantile=\"0.99\"")
+                .contains("nutrition_servicio_seconds_bucket{")
+                .contains("spring_data_repository_invocations_seconds")
+                .contains("repository=\"ComidaRepository\"")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_sessions_open_total");
+    }
+}
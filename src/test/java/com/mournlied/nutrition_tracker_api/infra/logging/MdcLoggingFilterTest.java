@@ -0,0 +1,113 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcLoggingFilterTest {
+
+    private final MdcLoggingFilter filtro = new MdcLoggingFilter("nodo-test");
+
+    @AfterEach
+    void limpiar(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_sinHeaderNiAutenticacion_debeGenerarIdYCompletarMdc() throws Exception{
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> mdcEnCadena = new HashMap<>();
+
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/tracker/historial"), response,
+                (req, res) -> mdcEnCadena.putAll(MDC.getCopyOfContextMap()));
+
+        String requestId = response.getHeader(MdcLoggingFilter.HEADER_REQUEST_ID);
+        assertThat(requestId).hasSize(GeneradorRequestId.LONGITUD).matches("[0-9A-HJKMNP-TV-Z]+");
+        assertThat(mdcEnCadena)
+                .containsEntry("requestId", requestId)
+                .containsEntry("endpoint", "GET /api/tracker/historial")
+                .doesNotContainKey("correoUser");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void testDoFilterUserAutenticado_conJwt_debeAgregarCorreoSinBorrarRequestId() throws Exception{
+
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("email", "test@example.com")
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+        Map<String, String> mdcEnCadena = new HashMap<>();
+
+        MDC.put("requestId", "req-1");
+        try {
+            new MdcUserAutenticadoFilter().doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                    (req, res) -> mdcEnCadena.putAll(MDC.getCopyOfContextMap()));
+
+            assertThat(mdcEnCadena).containsEntry("correoUser", "test@example.com").containsEntry("requestId", "req-1");
+            assertThat(MDC.getCopyOfContextMap()).containsOnlyKeys("requestId");
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Test
+    void testDoFilter_headerValido_debeReutilizarloYDevolverlo() throws Exception{
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(MdcLoggingFilter.HEADER_REQUEST_ID, "gateway-123.abc_Z");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> mdcEnCadena = new HashMap<>();
+
+        filtro.doFilter(request, response, (req, res) -> mdcEnCadena.putAll(MDC.getCopyOfContextMap()));
+
+        assertThat(response.getHeader(MdcLoggingFilter.HEADER_REQUEST_ID)).isEqualTo("gateway-123.abc_Z");
+        assertThat(mdcEnCadena).containsEntry("requestId", "gateway-123.abc_Z").doesNotContainKey("correoUser");
+    }
+
+    @Test
+    void testDoFilter_headerConCaracteresInvalidos_debeGenerarUnoNuevo() throws Exception{
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(MdcLoggingFilter.HEADER_REQUEST_ID, "abc\nERROR falso");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) -> {});
+
+        assertThat(response.getHeader(MdcLoggingFilter.HEADER_REQUEST_ID)).hasSize(GeneradorRequestId.LONGITUD);
+    }
+
+    @Test
+    void testGenerar_idsConsecutivos_debenSerUnicosYOrdenados(){
+
+        GeneradorRequestId generador = new GeneradorRequestId(7);
+        String anterior = generador.generar();
+
+        for (int i = 0; i < 10_000; i++) {
+            String actual = generador.generar();
+            assertThat(actual).isGreaterThan(anterior);
+            anterior = actual;
+        }
+    }
+
+    @Test
+    void testEsRequestIdValido_largoMaximo(){
+
+        assertThat(GeneradorRequestId.esRequestIdValido("a".repeat(64))).isTrue();
+        assertThat(GeneradorRequestId.esRequestIdValido("a".repeat(65))).isFalse();
+        assertThat(GeneradorRequestId.esRequestIdValido("")).isFalse();
+    }
+}
@@ -0,0 +1,102 @@
+package com.mournlied.nutrition_tracker_api.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MuestreoLogsTurboFilterTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final Logger logger = contexto.getLogger("com.mournlied.nutrition_tracker_api.service.ComidaService");
+
+    private MuestreoLogsTurboFilter filtro;
+
+    @BeforeEach
+    void setup(){
+        filtro = new MuestreoLogsTurboFilter();
+        filtro.setContext(contexto);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void limpiar(){
+        MDC.clear();
+    }
+
+    @Test
+    void testDecide_porcentajeCero_debeDescartarInfoYContarlo(){
+
+        filtro.setPorcentajeInfo(0);
+        MDC.put("requestId", "request-1");
+        long antes = ContadoresDescarteLogs.descartadosPorMuestreo();
+
+        assertThat(decidir(Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decidir(Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decidir(Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(ContadoresDescarteLogs.descartadosPorMuestreo()).isEqualTo(antes + 1);
+    }
+
+    @Test
+    void testDecide_fueraDeRequestOConsultaDeNivel_debeConservar(){
+
+        filtro.setPorcentajeInfo(0);
+
+        assertThat(decidir(Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+
+        MDC.put("requestId", "request-1");
+        assertThat(filtro.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void testDecide_loggerConNivelWarn_noDebeContarComoMuestreado(){
+
+        filtro.setPorcentajeInfo(0);
+        logger.setLevel(Level.WARN);
+        MDC.put("requestId", "request-1");
+        long antes = ContadoresDescarteLogs.descartadosPorMuestreo();
+
+        assertThat(decidir(Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(ContadoresDescarteLogs.descartadosPorMuestreo()).isEqualTo(antes);
+    }
+
+    @Test
+    void testDecide_porcentajePorEndpoint_debeUsarPrefijoMasLargo(){
+
+        filtro.setPorcentajeInfo(100);
+        filtro.setPorcentajesPorEndpoint("GET /api/tracker=100, GET /api/tracker/historial=0, invalido");
+        MDC.put("requestId", "request-1");
+
+        MDC.put("endpoint", "GET /api/tracker/historial");
+        assertThat(decidir(Level.INFO)).isEqualTo(FilterReply.DENY);
+
+        MDC.put("endpoint", "GET /api/tracker/resumen");
+        assertThat(decidir(Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void testDecide_mismaRequest_debeTomarLaMismaDecisionParaTodasSusLineas(){
+
+        filtro.setPorcentajeInfo(50);
+        int conservadas = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            MDC.put("requestId", "request-" + i);
+            FilterReply primera = decidir(Level.INFO);
+            assertThat(decidir(Level.INFO)).isEqualTo(primera);
+            if (primera == FilterReply.NEUTRAL) conservadas++;
+        }
+
+        assertThat(conservadas).isBetween(400, 600);
+    }
+
+    private FilterReply decidir(Level nivel) {
+        return filtro.decide(null, logger, nivel, "mensaje {}", new Object[]{1}, null);
+    }
+}
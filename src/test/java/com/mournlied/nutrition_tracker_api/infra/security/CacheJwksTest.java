@@ -0,0 +1,202 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Issuer local con HttpServer: documento de descubrimiento y JWKS publicado, contando las consultas al JWKS
+class CacheJwksTest {
+
+    private static RSAKey clave1;
+    private static RSAKey clave2;
+
+    private HttpServer issuer;
+    private String issuerUri;
+    private volatile String jwksPublicado;
+    private final AtomicInteger consultasJwks = new AtomicInteger();
+    private final List<CacheJwks> caches = new ArrayList<>();
+
+    @TempDir
+    Path directorio;
+
+    @BeforeAll
+    static void generarClaves() throws Exception {
+        clave1 = new RSAKeyGenerator(2048).keyID("clave-1").generate();
+        clave2 = new RSAKeyGenerator(2048).keyID("clave-2").generate();
+    }
+
+    @BeforeEach
+    void iniciarIssuer() throws IOException {
+
+        issuer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        issuerUri = "http://127.0.0.1:" + issuer.getAddress().getPort();
+        publicar(clave1);
+
+        issuer.createContext("/.well-known/openid-configuration", intercambio -> responder(intercambio,
+                "{\"issuer\":\"" + issuerUri + "\",\"jwks_uri\":\"" + issuerUri + "/jwks\"}"));
+        issuer.createContext("/jwks", intercambio -> {
+            consultasJwks.incrementAndGet();
+            responder(intercambio, jwksPublicado);
+        });
+        issuer.start();
+    }
+
+    @AfterEach
+    void detenerIssuer() {
+        issuer.stop(0);
+        caches.forEach(CacheJwks::close);
+    }
+
+    @Test
+    void testDecode_tokensFirmadosPorIssuer_debenValidarseConUnaSolaConsultaAlJwks() throws Exception {
+
+        JwtDecoder decoder = decoder(nuevoCache(null, Duration.ofSeconds(30)));
+
+        assertThat(decoder.decode(token(clave1, issuerUri, "admin1@mournlied.com")).getClaimAsString("email"))
+                .isEqualTo("admin1@mournlied.com");
+        decoder.decode(token(clave1, issuerUri, "user1@mournlied.com"));
+
+        assertThat(consultasJwks).hasValue(1);
+    }
+
+    @Test
+    void testDecode_mismoTokenDosVeces_debeRetornarJwtCacheado() throws Exception {
+
+        JwtDecoder decoder = decoder(nuevoCache(null, Duration.ofSeconds(30)));
+        String token = token(clave1, issuerUri, "admin1@mournlied.com");
+
+        assertThat(decoder.decode(token)).isSameAs(decoder.decode(token));
+    }
+
+    @Test
+    void testDecode_claveRotadaEnIssuer_debeRefrescarJwksYValidar() throws Exception {
+
+        JwtDecoder decoder = decoder(nuevoCache(null, Duration.ZERO));
+        decoder.decode(token(clave1, issuerUri, "admin1@mournlied.com"));
+
+        publicar(clave2);
+
+        assertThat(decoder.decode(token(clave2, issuerUri, "admin1@mournlied.com")).getClaimAsString("email"))
+                .isEqualTo("admin1@mournlied.com");
+        assertThat(consultasJwks).hasValue(2);
+    }
+
+    @Test
+    void testDecode_kidDesconocidoRepetido_debeRefrescarComoMaximoUnaVezPorIntervalo() throws Exception {
+
+        JwtDecoder decoder = decoder(nuevoCache(null, Duration.ofHours(1)));
+        decoder.decode(token(clave1, issuerUri, "admin1@mournlied.com"));
+
+        String tokenDesconocido = token(clave2, issuerUri, "admin1@mournlied.com");
+        assertThatThrownBy(() -> decoder.decode(tokenDesconocido)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(tokenDesconocido)).isInstanceOf(JwtException.class);
+
+        assertThat(consultasJwks).hasValue(1);
+    }
+
+    @Test
+    void testDecode_firmaDeOtraClaveConMismoKid_debeRechazarToken() throws Exception {
+
+        JwtDecoder decoder = decoder(nuevoCache(null, Duration.ofSeconds(30)));
+        RSAKey falsa = new RSAKeyGenerator(2048).keyID("clave-1").generate();
+
+        assertThatThrownBy(() -> decoder.decode(token(falsa, issuerUri, "admin1@mournlied.com")))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void testDecode_issuerDistinto_debeRechazarToken() throws Exception {
+
+        JwtDecoder decoder = decoder(nuevoCache(null, Duration.ofSeconds(30)));
+
+        assertThatThrownBy(() -> decoder.decode(token(clave1, "http://otro-issuer", "admin1@mournlied.com")))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void testCargarArchivo_issuerNoDisponible_debeValidarConJwksRespaldado() throws Exception {
+
+        Path archivo = directorio.resolve("jwks.json");
+        assertThat(nuevoCache(archivo, Duration.ofSeconds(30)).refrescar()).isTrue();
+        assertThat(Files.readString(archivo)).contains("clave-1").doesNotContain("\"d\"");
+
+        issuer.stop(0);
+        CacheJwks sinIssuer = nuevoCache(archivo, Duration.ofSeconds(30));
+
+        assertThat(sinIssuer.cargarArchivo()).isTrue();
+        assertThat(decoder(sinIssuer).decode(token(clave1, issuerUri, "admin1@mournlied.com")).getSubject())
+                .isEqualTo("admin1@mournlied.com");
+        assertThat(consultasJwks).hasValue(1);
+    }
+
+    private CacheJwks nuevoCache(Path archivo, Duration intervaloMinimoRefresco) {
+
+        CacheJwks cache = new CacheJwks(issuerUri, "", archivo == null ? "" : archivo.toString(),
+                Duration.ofMinutes(10), Duration.ofMinutes(1), intervaloMinimoRefresco, Duration.ofSeconds(2));
+        caches.add(cache);
+        return cache;
+    }
+
+    private JwtDecoder decoder(CacheJwks cacheJwks) {
+        return SecurityConfig.jwtDecoderConJwksLocal(cacheJwks, issuerUri, 100, Duration.ofMinutes(5));
+    }
+
+    private void publicar(RSAKey clave) {
+        jwksPublicado = new JWKSet(clave.toPublicJWK()).toString();
+    }
+
+    private static String token(RSAKey clave, String issuer, String correo) throws Exception {
+
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(clave.getKeyID()).type(JOSEObjectType.JWT).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(issuer)
+                        .subject(correo)
+                        .claim("email", correo)
+                        .expirationTime(Date.from(Instant.now().plusSeconds(600)))
+                        .build());
+        jwt.sign(new RSASSASigner(clave));
+        return jwt.serialize();
+    }
+
+    private static void responder(HttpExchange intercambio, String cuerpo) throws IOException {
+
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().add("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(200, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+}
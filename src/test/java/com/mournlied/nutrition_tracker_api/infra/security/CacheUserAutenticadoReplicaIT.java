@@ -0,0 +1,88 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.mournlied.nutrition_tracker_api.domain.user.dto.ActualizarUserDTO;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import com.mournlied.nutrition_tracker_api.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// La replica se migra una vez y no recibe las escrituras posteriores: simula una replica atrasada.
+// Sin @Transactional: la invalidacion del cache ocurre despues del commit.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+class CacheUserAutenticadoReplicaIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("replicadb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void migrarReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testUserDesactivado_conReplicaAtrasada_siguienteRequestDebeSerRechazada() throws Exception{
+
+        // Deja al admin en el cache antes del cambio
+        mockMvc.perform(get("/api/users/lista")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk());
+
+        Long adminId = userRepository.findUserByCorreo("admin1@mournlied.com").orElseThrow().getUserId();
+        userService.actualizarUser(adminId, new ActualizarUserDTO(null, 0));
+
+        // En la replica el admin sigue activo: la recarga tras la invalidacion debe leer del primario
+        mockMvc.perform(get("/api/users/lista")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,85 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheUserAutenticadoTest {
+
+    private final UserAutenticadoDTO user = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
+    private CacheUserAutenticado cache;
+
+    @BeforeEach
+    void setup(){
+        cache = new CacheUserAutenticado(100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testObtener_cargaEnCursoMismoCorreo_debeEsperarlaSinCargarDeNuevo() throws Exception{
+
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+
+        CompletableFuture<UserAutenticadoDTO> primera = CompletableFuture.supplyAsync(() ->
+                cache.obtener("test@example.com", correo -> {
+                    cargas.incrementAndGet();
+                    cargaIniciada.countDown();
+                    esperar(liberarCarga);
+                    return user;
+                }));
+        assertThat(cargaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<UserAutenticadoDTO> segunda = CompletableFuture.supplyAsync(() ->
+                cache.obtener("test@example.com", correo -> {
+                    cargas.incrementAndGet();
+                    return user;
+                }));
+        liberarCarga.countDown();
+
+        assertThat(primera.get(5, TimeUnit.SECONDS)).isSameAs(user);
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isSameAs(user);
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void testObtener_cargaFalla_debePropagarExcepcionYNoGuardarse(){
+
+        assertThatThrownBy(() -> cache.obtener("test@example.com", correo -> {
+            throw new IllegalStateException("db caida");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.obtener("test@example.com", correo -> user)).isSameAs(user);
+    }
+
+    @Test
+    void testInvalidar_userEnCache_debeVolverACargar(){
+
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.obtener("test@example.com", correo -> { cargas.incrementAndGet(); return user; });
+        cache.obtener("test@example.com", correo -> { cargas.incrementAndGet(); return user; });
+        cache.invalidar("test@example.com");
+        cache.obtener("test@example.com", correo -> { cargas.incrementAndGet(); return user; });
+
+        assertThat(cargas).hasValue(2);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,22 +2,26 @@ package com.mournlied.nutrition_tracker_api.infra.security;
 
 import com.mournlied.nutrition_tracker_api.domain.user.Permiso;
 import com.mournlied.nutrition_tracker_api.domain.user.Rol;
-import com.mournlied.nutrition_tracker_api.domain.user.User;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
 import com.mournlied.nutrition_tracker_api.repository.RolRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,33 +32,38 @@ class CustomJwtRoleAndPermissionConverterTest {
     @Mock
     private RolRepository rolRepository;
 
-    @InjectMocks
+    private CacheUserAutenticado cacheUserAutenticado;
+
     private CustomJwtRoleAndPermissionConverter converter;
 
+    // Rol con 3 autoridades (nombreRol y 2 permisos)
+    private final Rol rol = new Rol(
+            1,
+            null,
+            Set.of(
+                    new Permiso(1,null,"LEER_USER_PROPIO"),
+                    new Permiso(1,null,"ELIMINAR_USER_PROPIO")),
+            Set.of(),null,
+            "USER");
+
+    private final Jwt jwt = Jwt.withTokenValue("dummy")
+            .header("alg", "none")
+            .claim("email", "test@example.com")
+            .build();
+
+    @BeforeEach
+    void setup(){
+        cacheUserAutenticado = new CacheUserAutenticado(100, Duration.ofMinutes(5));
+        ProveedorUserAutenticado proveedor = new ProveedorUserAutenticado(userRepository, cacheUserAutenticado);
+        converter = new CustomJwtRoleAndPermissionConverter(proveedor, new IndiceJerarquiaRoles(rolRepository, Duration.ZERO));
+    }
+
     @Test
     void testconvert_correoValidoYExiste_retornaAutoridades(){
 
-        Jwt jwt = Jwt.withTokenValue("dummy")
-                .header("alg", "none")
-                .claim("email", "test@example.com")
-                .build();
-// Rol con 3 autoridades (nombreRol y 2 permisos)
-        Rol rol = new Rol(
-                1,
-                null,
-                Set.of(
-                        new Permiso(1,null,"LEER_USER_PROPIO"),
-                        new Permiso(1,null,"ELIMINAR_USER_PROPIO")),
-                Set.of(),null,
-                "USER");
-
-        User user = new User(
-                null,null,null,rol,null,
-                "test@example.com",
-                1);
-
-        when(userRepository.findUserWithRolesAndPermisosByCorreo("test@example.com")).thenReturn(Optional.of(user));
-        when(rolRepository.findByIdWithPermisosAndHeredados(1)).thenReturn(Optional.of(rol));
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 1)));
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(rol));
 
         Collection<GrantedAuthority> autoridades = converter.convert(jwt);
 
@@ -64,12 +73,12 @@ class CustomJwtRoleAndPermissionConverterTest {
     @Test
     void testconvert_jwtSinCorreo_retornaAutoridadesVacio(){
 
-        Jwt jwt = Jwt.withTokenValue("dummy")
+        Jwt jwtSinCorreo = Jwt.withTokenValue("dummy")
                 .header("alg", "none")
                 .claim("nombre", "Test Example")
                 .build();
 
-        Collection<GrantedAuthority> autoridades = converter.convert(jwt);
+        Collection<GrantedAuthority> autoridades = converter.convert(jwtSinCorreo);
 
         assertThat(autoridades).hasSize(0);
     }
@@ -77,13 +86,18 @@ class CustomJwtRoleAndPermissionConverterTest {
     @Test
     void testconvert_correoNoExisteCorreoEnDB_retornaAutoridadesVacio(){
 
-        Jwt jwt = Jwt.withTokenValue("dummy")
-                .header("alg", "none")
-                .claim("email", "test@example.com")
-                .build();
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com")).thenReturn(Optional.empty());
 
-        when(userRepository.findUserWithRolesAndPermisosByCorreo("test@example.com")).thenReturn(Optional.empty());
+        Collection<GrantedAuthority> autoridades = converter.convert(jwt);
+
+        assertThat(autoridades).hasSize(0);
+    }
+
+    @Test
+    void testconvert_estadoUserNoEsActivo_retornaAutoridadesVacio(){
 
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 0)));
 
         Collection<GrantedAuthority> autoridades = converter.convert(jwt);
 
@@ -91,22 +105,41 @@ class CustomJwtRoleAndPermissionConverterTest {
     }
 
     @Test
-    void testconvert_estadoUserNoEsActivo_retornaAutoridadesVacio(){
+    void testconvert_segundaRequestMismoCorreo_noDebeConsultarDB(){
 
-        Jwt jwt = Jwt.withTokenValue("dummy")
-                .header("alg", "none")
-                .claim("email", "test@example.com")
-                .build();
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 1)));
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(rol));
 
-        User user = new User(
-                null,null,null,null,null,null,
-                0);
+        Collection<GrantedAuthority> primera = converter.convert(jwt);
+        Collection<GrantedAuthority> segunda = converter.convert(jwt);
 
-        when(userRepository.findUserWithRolesAndPermisosByCorreo("test@example.com")).thenReturn(Optional.of(user));
+        assertThat(segunda).isSameAs(primera).hasSize(3);
+        verify(userRepository, times(1)).findUserAutenticadoByCorreo("test@example.com");
+        verify(rolRepository, times(1)).findAllWithPermisosAndHeredados();
+    }
 
+    @Test
+    void testconvert_correoInvalidadoEnCache_debeVolverAConsultarDB(){
 
-        Collection<GrantedAuthority> autoridades = converter.convert(jwt);
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com"))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 0)));
 
-        assertThat(autoridades).hasSize(0);
+        converter.convert(jwt);
+        cacheUserAutenticado.invalidar("test@example.com");
+        converter.convert(jwt);
+
+        verify(userRepository, times(2)).findUserAutenticadoByCorreo("test@example.com");
+    }
+
+    @Test
+    void testconvert_correoNoExisteEnDB_noDebeGuardarseEnCache(){
+
+        when(userRepository.findUserAutenticadoByCorreo("test@example.com")).thenReturn(Optional.empty());
+
+        converter.convert(jwt);
+        converter.convert(jwt);
+
+        verify(userRepository, times(2)).findUserAutenticadoByCorreo("test@example.com");
     }
-}
\ No newline at end of file
+}
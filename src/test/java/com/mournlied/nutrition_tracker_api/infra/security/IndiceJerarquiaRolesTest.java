@@ -0,0 +1,115 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.mournlied.nutrition_tracker_api.domain.user.Permiso;
+import com.mournlied.nutrition_tracker_api.domain.user.Rol;
+import com.mournlied.nutrition_tracker_api.repository.RolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceJerarquiaRolesTest {
+
+    @Mock
+    private RolRepository rolRepository;
+
+    private IndiceJerarquiaRoles indice;
+
+    private Rol userRol;
+    private Rol adminRol;
+
+    @BeforeEach
+    void setup(){
+        indice = new IndiceJerarquiaRoles(rolRepository, Duration.ZERO);
+
+        userRol = new Rol(1, null,
+                Set.of(new Permiso(1, null, "leer_user_propio"), new Permiso(3, null, "modificar_info_personal")),
+                new HashSet<>(), null, "USER");
+        adminRol = new Rol(2, null,
+                Set.of(new Permiso(2, null, "leer_lista_users")),
+                Set.of(userRol), null, "ADMIN");
+    }
+
+    @Test
+    void testAutoridadesDe_rolHeredaOtroRol_debeIncluirAutoridadesHeredadas(){
+
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(userRol, adminRol));
+        indice.reconstruir();
+
+        Set<String> nombres = indice.autoridadesDe(2).stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+
+        assertThat(nombres).containsExactlyInAnyOrder(
+                "ROLE_ADMIN", "ROLE_USER",
+                "PERM_LEER_LISTA_USERS", "PERM_LEER_USER_PROPIO", "PERM_MODIFICAR_INFO_PERSONAL");
+        assertThat(indice.autoridadesDe(1)).hasSize(3);
+    }
+
+    @Test
+    void testAutoridadesDe_consultasRepetidas_debeRetornarMismaInstanciaSinConsultarDB(){
+
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(userRol, adminRol));
+        indice.reconstruir();
+
+        Set<GrantedAuthority> primera = indice.autoridadesDe(2);
+        Set<GrantedAuthority> segunda = indice.autoridadesDe(2);
+
+        assertThat(segunda).isSameAs(primera);
+        verify(rolRepository, times(1)).findAllWithPermisosAndHeredados();
+    }
+
+    @Test
+    void testAutoridadesDe_jerarquiaConCiclo_debeTerminar(){
+
+        userRol.getRolesHeredados().add(adminRol);
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(userRol, adminRol));
+
+        assertThat(indice.autoridadesDe(1)).hasSize(5);
+    }
+
+    @Test
+    void testAutoridadesDe_indiceSinConstruir_debeConstruirloAlPrimerUso(){
+
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(userRol));
+
+        assertThat(indice.autoridadesDe(1)).hasSize(3);
+        verify(rolRepository, times(1)).findAllWithPermisosAndHeredados();
+    }
+
+    @Test
+    void testAutoridadesDe_rolNoExiste_debeReconstruirUnaVezYRetornarVacio(){
+
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(userRol));
+        indice.reconstruir();
+
+        assertThat(indice.autoridadesDe(99)).isEmpty();
+        verify(rolRepository, times(2)).findAllWithPermisosAndHeredados();
+    }
+
+    @Test
+    void testAutoridadesDe_rolNoExisteEnRequestsSeguidas_debeReconstruirComoMaximoUnaVezPorIntervalo(){
+
+        IndiceJerarquiaRoles indiceConIntervalo = new IndiceJerarquiaRoles(rolRepository, Duration.ofHours(1));
+        when(rolRepository.findAllWithPermisosAndHeredados()).thenReturn(List.of(userRol));
+        indiceConIntervalo.reconstruir();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(indiceConIntervalo.autoridadesDe(99)).isEmpty();
+        }
+        assertThat(indiceConIntervalo.autoridadesDe(1)).hasSize(3);
+        verify(rolRepository, times(1)).findAllWithPermisosAndHeredados();
+    }
+}
@@ -0,0 +1,75 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtDecoderCacheadoTest {
+
+    @Mock
+    private JwtDecoder delegado;
+
+    private JwtDecoderCacheado decoder;
+
+    @BeforeEach
+    void setup(){
+        decoder = new JwtDecoderCacheado(delegado, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testDecode_tokenYaValidado_noDebeVolverAVerificarlo(){
+
+        Jwt jwt = jwtQueExpiraEn(Instant.now().plusSeconds(600));
+        when(delegado.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+
+        verify(delegado, times(1)).decode("token");
+    }
+
+    @Test
+    void testDecode_tokenRechazado_noDebeGuardarseEnCache(){
+
+        when(delegado.decode("token")).thenThrow(new BadJwtException("firma invalida"));
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+
+        verify(delegado, times(2)).decode("token");
+    }
+
+    @Test
+    void testDecode_tokenYaExpirado_noDebeServirseDesdeCache(){
+
+        // Aceptado por el delegado dentro del margen de reloj, pero el cache no lo extiende mas alla del exp
+        when(delegado.decode("token")).thenReturn(jwtQueExpiraEn(Instant.now().minusSeconds(10)));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegado, times(2)).decode("token");
+    }
+
+    private static Jwt jwtQueExpiraEn(Instant expiracion) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("email", "test@example.com")
+                .issuedAt(expiracion.minusSeconds(900))
+                .expiresAt(expiracion)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.mournlied.nutrition_tracker_api.infra.security;
+
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProveedorUserAutenticadoTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CacheUserAutenticado cacheUserAutenticado;
+
+    private ProveedorUserAutenticado proveedor;
+
+    private final UserAutenticadoDTO user = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
+    @BeforeEach
+    void setup(){
+        proveedor = new ProveedorUserAutenticado(userRepository, cacheUserAutenticado);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void limpiar(){
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private Jwt jwtCon(String correo){
+        return Jwt.withTokenValue("dummy").header("alg", "none").claim("email", correo).build();
+    }
+
+    @Test
+    void testObtener_mismaRequest_debeResolverUnaSolaVez(){
+
+        when(cacheUserAutenticado.obtener(eq("test@example.com"), any())).thenReturn(user);
+
+        Optional<UserAutenticadoDTO> primero = proveedor.obtener(jwtCon("test@example.com"));
+        Optional<UserAutenticadoDTO> segundo = proveedor.obtener(jwtCon("test@example.com"));
+
+        assertThat(primero).contains(user);
+        assertThat(segundo).contains(user);
+        verify(cacheUserAutenticado, times(1)).obtener(eq("test@example.com"), any());
+    }
+
+    @Test
+    void testObtener_correoDistintoEnMismaRequest_noDebeReutilizarUser(){
+
+        UserAutenticadoDTO otro = new UserAutenticadoDTO(2L, "otro@example.com", 1, 1);
+        when(cacheUserAutenticado.obtener(eq("test@example.com"), any())).thenReturn(user);
+        when(cacheUserAutenticado.obtener(eq("otro@example.com"), any())).thenReturn(otro);
+
+        proveedor.obtener(jwtCon("test@example.com"));
+
+        assertThat(proveedor.obtener(jwtCon("otro@example.com"))).contains(otro);
+    }
+
+    @Test
+    void testObtener_userNoExiste_retornaVacio(){
+
+        when(cacheUserAutenticado.obtener(eq("test@example.com"), any())).thenReturn(null);
+
+        assertThat(proveedor.obtener(jwtCon("test@example.com"))).isEmpty();
+    }
+
+    @Test
+    void testObtener_jwtSinCorreo_noDebeConsultarCache(){
+
+        Jwt jwtSinCorreo = Jwt.withTokenValue("dummy").header("alg", "none").claim("nombre", "Test").build();
+
+        assertThat(proveedor.obtener(jwtSinCorreo)).isEmpty();
+        verifyNoInteractions(cacheUserAutenticado, userRepository);
+    }
+}
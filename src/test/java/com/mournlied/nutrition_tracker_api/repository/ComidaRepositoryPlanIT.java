@@ -0,0 +1,134 @@
+package com.mournlied.nutrition_tracker_api.repository;
+
+import com.mournlied.nutrition_tracker_api.infra.security.SecurityTestConfig;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifica con EXPLAIN que el SQL generado por cada metodo del repositorio usa un indice sobre comidas.
+// Con pocas filas el planner prefiere seq scan, por eso se desactiva y se pide el plan generico (Postgres 16+).
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(SecurityTestConfig.class)
+@Testcontainers
+@Transactional
+@Rollback
+class ComidaRepositoryPlanIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureTestDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                ConsultasCapturadas.class::getName);
+    }
+
+    @Autowired
+    private ComidaRepository comidaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup(){
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        ConsultasCapturadas.limpiar();
+    }
+
+    @Test
+    void testFindByUserUserIdAndFechaCreacionComidaBetween_debeUsarIndiceUserFecha(){
+
+        comidaRepository.findByUserUserIdAndFechaCreacionComidaBetween(
+                1L, LocalDate.now().minusDays(6), LocalDate.now(),
+                PageRequest.of(1, 2, Sort.by("fechaCreacionComida").descending()));
+
+        assertTodasUsanIndice("idx_comidas_user_fecha_id");
+    }
+
+    @Test
+    void testFindSiguientesComidasDesdeCursor_debeUsarIndiceUserFecha(){
+
+        comidaRepository.findSiguientesComidasDesdeCursor(
+                1L, LocalDate.now().minusDays(6), LocalDate.now(), Long.MAX_VALUE, Limit.of(3));
+
+        assertTodasUsanIndice("idx_comidas_user_fecha_id");
+    }
+
+    @Test
+    void testFindByUserUserIdAndEsFavoritaTrue_debeUsarIndiceParcialFavoritas(){
+
+        comidaRepository.findByUserUserIdAndEsFavoritaTrue(
+                1L, PageRequest.of(1, 2, Sort.by("fechaCreacionComida").descending()));
+
+        assertTodasUsanIndice("idx_comidas_user_fecha_favoritas");
+    }
+
+    @Test
+    void testFindByUserUserIdAndNombreComida_debeUsarIndiceUnicoPorUser(){
+
+        comidaRepository.findByUserUserIdAndNombreComida(1L, "comida numero 1");
+
+        assertTodasUsanIndice("nombre_comida_user_unico");
+    }
+
+    @Test
+    void testFindNombresComidaExistentes_debeUsarIndiceUnicoPorUser(){
+
+        comidaRepository.findNombresComidaExistentes(1L, List.of("comida numero 1", "comida numero 2"));
+
+        assertTodasUsanIndice("nombre_comida_user_unico");
+    }
+
+    private void assertTodasUsanIndice(String indice){
+
+        List<String> consultas = ConsultasCapturadas.obtener().stream()
+                .filter(sql -> sql.toLowerCase().contains("from comidas"))
+                .toList();
+        assertFalse(consultas.isEmpty());
+
+        for (String sql : consultas) {
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN (GENERIC_PLAN) " + conParametrosNumerados(sql), String.class));
+
+            assertFalse(plan.contains("Seq Scan on comidas"), () -> "Seq scan en:\n" + sql + "\n" + plan);
+            assertTrue(plan.contains(indice), () -> "Se esperaba " + indice + " en:\n" + sql + "\n" + plan);
+        }
+    }
+
+    // EXPLAIN (GENERIC_PLAN) requiere parametros $n en lugar de los ? de JDBC
+    private static String conParametrosNumerados(String sql){
+
+        StringBuilder resultado = new StringBuilder();
+        int parametro = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') resultado.append('$').append(++parametro);
+            else resultado.append(c);
+        }
+        return resultado.toString();
+    }
+}
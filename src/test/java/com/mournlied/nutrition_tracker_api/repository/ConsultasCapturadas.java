@@ -0,0 +1,26 @@
+package com.mournlied.nutrition_tracker_api.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Registra el SQL que Hibernate envia a la DB para poder inspeccionar su plan de ejecucion en los tests.
+public class ConsultasCapturadas implements StatementInspector {
+
+    private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        CONSULTAS.add(sql);
+        return sql;
+    }
+
+    public static void limpiar() {
+        CONSULTAS.clear();
+    }
+
+    public static List<String> obtener() {
+        return List.copyOf(CONSULTAS);
+    }
+}
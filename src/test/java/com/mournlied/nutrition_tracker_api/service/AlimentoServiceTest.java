@@ -0,0 +1,56 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.Alimento;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.ObtenerAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.repository.AlimentoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlimentoServiceTest {
+
+    @Mock
+    private AlimentoRepository alimentoRepository;
+
+    @Mock
+    private IndiceAlimentos indiceAlimentos;
+
+    @InjectMocks
+    private AlimentoService alimentoService;
+
+    private final RegistroAlimentoDTO registroDTO = new RegistroAlimentoDTO("Manzana",
+            new BigDecimal("52"), new BigDecimal("0.3"), new BigDecimal("13.8"), new BigDecimal("10.4"),
+            BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("2.4"), BigDecimal.ONE);
+
+    @Test
+    void testRegistrarAlimento_datosValidos_debeGuardarYReconstruirIndiceAlConfirmar(){
+
+        when(alimentoRepository.save(any(Alimento.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+        ObtenerAlimentoDTO salida = alimentoService.registrarAlimento(registroDTO);
+
+        assertEquals("Manzana", salida.nombre());
+        assertEquals(new BigDecimal("13.8"), salida.nutrientesPor100g().carbohidratosTotales());
+        verify(indiceAlimentos).reconstruirAlConfirmar();
+    }
+
+    @Test
+    void testObtenerAlimento_noExiste_debeLanzarExcepcion(){
+
+        when(alimentoRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> alimentoService.obtenerAlimento(7L));
+    }
+}
@@ -0,0 +1,55 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheNombresComidaTest {
+
+    @Mock
+    private ComidaRepository comidaRepository;
+
+    private CacheNombresComida cacheNombresComida;
+
+    @BeforeEach
+    void setup(){
+        cacheNombresComida = new CacheNombresComida(comidaRepository, 1000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testBuscarPorPrefijo_teclasSucesivas_debeConsultarDBUnaSolaVez(){
+
+        when(comidaRepository.findNombresComidaByUserId(1L))
+                .thenReturn(List.of("Almuerzo de pollo", "Avena con platano", "Cena liviana"));
+
+        assertEquals(List.of("Almuerzo de pollo", "Avena con platano"), cacheNombresComida.buscarPorPrefijo(1L, "a", 10));
+        assertEquals(List.of("Avena con platano"), cacheNombresComida.buscarPorPrefijo(1L, "av", 10));
+        assertEquals(List.of("Almuerzo de pollo"), cacheNombresComida.buscarPorPrefijo(1L, "pol", 10));
+
+        verify(comidaRepository, times(1)).findNombresComidaByUserId(1L);
+    }
+
+    @Test
+    void testBuscarPorPrefijo_trasInvalidar_debeRecargarNombres(){
+
+        when(comidaRepository.findNombresComidaByUserId(1L))
+                .thenReturn(List.of("Cena liviana"))
+                .thenReturn(List.of("Cena liviana", "Cena de pescado"));
+
+        assertEquals(1, cacheNombresComida.buscarPorPrefijo(1L, "cena", 10).size());
+        cacheNombresComida.invalidarAlConfirmar(1L);
+
+        assertEquals(2, cacheNombresComida.buscarPorPrefijo(1L, "cena", 10).size());
+        verify(comidaRepository, times(2)).findNombresComidaByUserId(1L);
+    }
+}
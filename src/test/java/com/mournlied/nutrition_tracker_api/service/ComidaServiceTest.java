@@ -1,31 +1,45 @@
 package com.mournlied.nutrition_tracker_api.service;
 
 import com.mournlied.nutrition_tracker_api.domain.comida.Comida;
+import com.mournlied.nutrition_tracker_api.domain.comida.CursorComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.EstadoRegistroComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ActualizarComidaPorIdDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.ObtenerComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.PaginaCursorComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaAlimentoDTO;
 import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.RegistroLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoRegistroComidaDTO;
 import com.mournlied.nutrition_tracker_api.domain.user.*;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
 import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.junit.jupiter.api.BeforeEach;
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +54,18 @@ class ComidaServiceTest {
     @Mock
     private ComidaRepository comidaRepository;
 
+    @Mock
+    private ProveedorUserAutenticado proveedorUserAutenticado;
+
+    @Mock
+    private ResumenDiarioService resumenDiarioService;
+
+    @Mock
+    private IndiceAlimentos indiceAlimentos;
+
+    @Mock
+    private CacheNombresComida cacheNombresComida;
+
     @InjectMocks
     private ComidaService comidaService;
 
@@ -55,6 +81,8 @@ class ComidaServiceTest {
             "test@example.com",
             1);
 
+    private final UserAutenticadoDTO userAutenticado = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
     private final Comida comidaDB = new Comida(
             1L,
             userDB,
@@ -69,26 +97,21 @@ class ComidaServiceTest {
 
     private final Pageable paginacion = PageRequest.of(0, 10);
 
-    private final Page<Comida> paginaComidas = new PageImpl<>(
-            List.of(comidaDB,comidaDB),
+    private final Page<ObtenerComidaDTO> paginaComidas = new PageImpl<>(
+            List.of(new ObtenerComidaDTO(comidaDB), new ObtenerComidaDTO(comidaDB)),
             paginacion,
             2);
 
-    @BeforeEach
-    void setup(){
-        lenient().when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-    }
-
     @Test
     void testObtenerListaComida_userExisteYNoContieneFechas_debeRetornarPaginaComidas(){
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(comidaRepository.findByUserUserIdAndFechaCreacionComidaBetween(
                 any(Long.class), any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
                 .thenReturn(paginaComidas);
 
         Page<ObtenerComidaDTO> paginaSalida =
-                comidaService.obtenerListaComidas(jwt, paginacion, null, null);
+                comidaService.obtenerListaComidas(jwt, paginacion, null, null, null);
 
         assertEquals(2, paginaSalida.getContent().size());
         assertEquals("test", paginaSalida.getContent().get(0).nombreComida());
@@ -107,13 +130,13 @@ class ComidaServiceTest {
     @Test
     void testObtenerListaComida_userExisteYContieneSoloStartDate_debeRetornarPaginaComidas(){
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(comidaRepository.findByUserUserIdAndFechaCreacionComidaBetween(
                 any(Long.class), any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
                 .thenReturn(paginaComidas);
 
         Page<ObtenerComidaDTO> paginaSalida = comidaService.obtenerListaComidas(
-                jwt, paginacion, LocalDate.now().minusDays(10), null);
+                jwt, paginacion, LocalDate.now().minusDays(10), null, null);
 
         ArgumentCaptor<LocalDate> startCaptor = ArgumentCaptor.forClass(LocalDate.class);
         ArgumentCaptor<LocalDate> endCaptor = ArgumentCaptor.forClass(LocalDate.class);
@@ -128,13 +151,13 @@ class ComidaServiceTest {
     @Test
     void testObtenerListaComida_userExisteYContieneSoloEndDate_debeRetornarPaginaComidas(){
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(comidaRepository.findByUserUserIdAndFechaCreacionComidaBetween(
                 any(Long.class), any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
                 .thenReturn(paginaComidas);
 
         Page<ObtenerComidaDTO> paginaSalida = comidaService.obtenerListaComidas(
-                jwt, paginacion, null, LocalDate.now().minusDays(7));
+                jwt, paginacion, null, LocalDate.now().minusDays(7), null);
 
         ArgumentCaptor<LocalDate> startCaptor = ArgumentCaptor.forClass(LocalDate.class);
         ArgumentCaptor<LocalDate> endCaptor = ArgumentCaptor.forClass(LocalDate.class);
@@ -146,13 +169,84 @@ class ComidaServiceTest {
         assertEquals(LocalDate.now().minusDays(13), startCaptor.getValue());
     }
 
+    @Test
+    void testObtenerListaComida_conProteinasMin_debeFiltrarPorColumnaProteinas(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndFechaCreacionComidaBetweenAndNutrientesProteinasGreaterThanEqual(
+                any(Long.class), any(LocalDate.class), any(LocalDate.class), any(BigDecimal.class), any(Pageable.class)))
+                .thenReturn(paginaComidas);
+
+        Page<ObtenerComidaDTO> paginaSalida = comidaService.obtenerListaComidas(
+                jwt, paginacion, null, null, new BigDecimal("40"));
+
+        assertEquals(2, paginaSalida.getContent().size());
+        verify(comidaRepository).findByUserUserIdAndFechaCreacionComidaBetweenAndNutrientesProteinasGreaterThanEqual(
+                1L, LocalDate.now().minusDays(6), LocalDate.now(), new BigDecimal("40"), paginacion);
+        verify(comidaRepository, never()).findByUserUserIdAndFechaCreacionComidaBetween(any(), any(), any(), any());
+    }
+
     @Test
     void testHelper_userNoExiste_debeLanzarExcepcion(){
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.empty());
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
-                () -> comidaService.obtenerListaComidas(jwt,paginacion,null,null));
+                () -> comidaService.obtenerListaComidas(jwt,paginacion,null,null,null));
+    }
+
+    @Test
+    void testObtenerListaComidasConCursor_sinCursorYHayMasResultados_debeRetornarSiguienteCursor(){
+
+        ObtenerComidaDTO comidaActual = new ObtenerComidaDTO(1L, "test", LocalDate.of(2025,6,23), 500,
+                "test", "test", Map.of("proteins",23));
+        ObtenerComidaDTO comidaAnterior = new ObtenerComidaDTO(2L, "test 2", LocalDate.of(2025,6,22), 500,
+                "test", "test", Map.of("proteins",23));
+        ObtenerComidaDTO comidaSobrante = new ObtenerComidaDTO(3L, "test 3", LocalDate.of(2025,6,21), 500,
+                "test", "test", Map.of("proteins",23));
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findSiguientesComidasDesdeCursor(
+                1L, LocalDate.of(2025,6,17), LocalDate.of(2025,6,23), Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(comidaActual, comidaAnterior, comidaSobrante));
+
+        PaginaCursorComidasDTO salida = comidaService.obtenerListaComidasConCursor(
+                jwt, "", 2, null, LocalDate.of(2025,6,23));
+
+        assertEquals(2, salida.content().size());
+        assertEquals("test 2", salida.content().get(1).nombreComida());
+        assertEquals(2, salida.size());
+        assertTrue(salida.hasNext());
+        assertEquals(new CursorComida(LocalDate.of(2025,6,22), 2L), CursorComida.decodificar(salida.nextCursor()));
+    }
+
+    @Test
+    void testObtenerListaComidasConCursor_conCursorYUltimaPagina_debeContinuarDesdeCursorSinSiguiente(){
+
+        String cursor = new CursorComida(LocalDate.of(2025,6,23), 5L).codificar();
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findSiguientesComidasDesdeCursor(
+                1L, LocalDate.of(2025,6,1), LocalDate.of(2025,6,23), 5L, Limit.of(11)))
+                .thenReturn(List.of(new ObtenerComidaDTO(1L, "test", LocalDate.of(2025,6,23), 500,
+                        "test", "test", Map.of("proteins",23))));
+
+        PaginaCursorComidasDTO salida = comidaService.obtenerListaComidasConCursor(
+                jwt, cursor, 10, LocalDate.of(2025,6,1), LocalDate.of(2025,6,30));
+
+        assertEquals(1, salida.content().size());
+        assertFalse(salida.hasNext());
+        assertNull(salida.nextCursor());
+    }
+
+    @Test
+    void testObtenerListaComidasConCursor_cursorInvalido_debeLanzarExcepcion(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        assertThrows(ValidationException.class,
+                () -> comidaService.obtenerListaComidasConCursor(jwt, "no-es-un-cursor", 10, null, null));
+        verifyNoInteractions(comidaRepository);
     }
 
     @Test
@@ -166,7 +260,8 @@ class ComidaServiceTest {
                 Map.of("proteins",23, "carbs", 46, "total fats", 12),
                 true);
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(userRepository.getReferenceById(1L)).thenReturn(userDB);
 
         ObtenerComidaDTO salidaDTO = comidaService.registrarNuevaComida(jwt, entradaDTO);
 
@@ -182,12 +277,17 @@ class ComidaServiceTest {
         assertEquals(userDB, comidaCaptor.getValue().getUser());
         assertEquals(LocalDate.now(), comidaCaptor.getValue().getFechaCreacionComida());
         assertEquals(true, comidaCaptor.getValue().getEsFavorita());
+
+        verify(resumenDiarioService).registrarComida(
+                1L, LocalDate.now(), NutrientesComida.desde(Map.of("proteins",23, "carbs", 46, "total fats", 12)));
+        verify(userRepository).incrementarVersionDatos(1L);
+        verify(cacheNombresComida).invalidarAlConfirmar(1L);
     }
 
     @Test
     void testObtenerListaComidasFavoritas_userExiste_debeRetornaPaginaComidas(){
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(comidaRepository.findByUserUserIdAndEsFavoritaTrue(
                 any(Long.class), any(Pageable.class)))
                 .thenReturn(paginaComidas);
@@ -200,6 +300,71 @@ class ComidaServiceTest {
         assertEquals(10, paginaSalida.getPageable().getPageSize());
     }
 
+    @Test
+    void testRegistrarLoteComidas_nombreExistenteYRepetido_debeRegistrarRestoYMarcarConflictos(){
+
+        RegistroLoteComidasDTO loteDTO = new RegistroLoteComidasDTO(List.of(
+                new RegistroComidaDTO("nueva 1", 100, "test", "Snack", Map.of("proteinas", 10), false),
+                new RegistroComidaDTO("test", 100, "test", "Snack", Map.of("proteinas", 20), false),
+                new RegistroComidaDTO("nueva 2", 100, "test", "Snack", Map.of("proteinas", 30), true),
+                new RegistroComidaDTO("nueva 1", 100, "test", "Snack", Map.of("proteinas", 40), false)));
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(userRepository.getReferenceById(1L)).thenReturn(userDB);
+        when(comidaRepository.findNombresComidaExistentes(1L, Set.of("nueva 1", "nueva 2", "test")))
+                .thenReturn(List.of("test"));
+
+        ResultadoLoteComidasDTO salida = comidaService.registrarLoteComidas(jwt, loteDTO);
+
+        assertEquals(2, salida.registradas());
+        assertEquals(2, salida.conflictos());
+        assertEquals(List.of(EstadoRegistroComida.REGISTRADA, EstadoRegistroComida.CONFLICTO,
+                        EstadoRegistroComida.REGISTRADA, EstadoRegistroComida.CONFLICTO),
+                salida.resultados().stream().map(ResultadoRegistroComidaDTO::estado).toList());
+        assertEquals(3, salida.resultados().get(3).indice());
+        assertNull(salida.resultados().get(1).comida());
+        assertEquals("nueva 2", salida.resultados().get(2).comida().nombreComida());
+
+        ArgumentCaptor<List<Comida>> comidasCaptor = ArgumentCaptor.forClass(List.class);
+        verify(comidaRepository).saveAllAndFlush(comidasCaptor.capture());
+        assertEquals(List.of("nueva 1", "nueva 2"),
+                comidasCaptor.getValue().stream().map(Comida::getNombreComida).toList());
+
+        verify(resumenDiarioService).registrarComidas(
+                1L, LocalDate.now(), List.of(
+                        NutrientesComida.desde(Map.of("proteinas", 10)), NutrientesComida.desde(Map.of("proteinas", 30))));
+    }
+
+    @Test
+    void testRegistrarComidaDesdeAlimento_alimentoExiste_debeGuardarNutrientesEscaladosYAlimentoId(){
+
+        NutrientesComida escalados = NutrientesComida.desde(Map.of("calorias", 247.5, "proteinas", 46.5));
+        when(indiceAlimentos.nutrientesPara(1L, 150)).thenReturn(Optional.of(escalados));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(userRepository.getReferenceById(1L)).thenReturn(userDB);
+
+        ObtenerComidaDTO salida = comidaService.registrarComidaDesdeAlimento(jwt,
+                new RegistroComidaAlimentoDTO("almuerzo pollo", 1L, 150, null, "Almuerzo", false));
+
+        assertEquals(new BigDecimal("46.5"), salida.informacionNutricional().get("proteinas"));
+
+        ArgumentCaptor<Comida> comidaCaptor = ArgumentCaptor.forClass(Comida.class);
+        verify(comidaRepository).save(comidaCaptor.capture());
+        assertEquals(1L, comidaCaptor.getValue().getAlimentoId());
+        assertEquals(escalados, comidaCaptor.getValue().getNutrientes());
+        verify(resumenDiarioService).registrarComida(1L, LocalDate.now(), escalados);
+    }
+
+    @Test
+    void testRegistrarComidaDesdeAlimento_alimentoNoExiste_debeLanzarExcepcion(){
+
+        when(indiceAlimentos.nutrientesPara(99L, 150)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> comidaService.registrarComidaDesdeAlimento(jwt,
+                new RegistroComidaAlimentoDTO("almuerzo pollo", 99L, 150, null, "Almuerzo", false)));
+        verifyNoInteractions(comidaRepository);
+    }
+
     @Test
     void testActualizarComida_OriginalExisteYTodosLosCampos_debeRetornarComidaActualizada(){
 
@@ -213,14 +378,38 @@ class ComidaServiceTest {
                 false
         );
 
-        when(comidaRepository.findByNombreComida("test")).thenReturn(Optional.of(comidaDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndNombreComida(1L, "test")).thenReturn(Optional.of(comidaDB));
 
-        ObtenerComidaDTO salidaDTO = comidaService.actualizarComida(entradaDTO);
+        ObtenerComidaDTO salidaDTO = comidaService.actualizarComida(jwt, entradaDTO);
 
         assertEquals("nuevo test", salidaDTO.nombreComida());
         assertEquals(Map.of("proteins",23, "carbs", 46, "total fats", 12, "sodium", 124),
                 salidaDTO.informacionNutricional());
         assertEquals(1000, salidaDTO.cantidadEnGramos());
+
+        verify(resumenDiarioService).actualizarComida(1L, LocalDate.of(2025,6,23),
+                NutrientesComida.desde(Map.of("proteins",23, "carbs", 46, "total fats", 12)),
+                NutrientesComida.desde(Map.of("proteins",23, "carbs", 46, "total fats", 12, "sodium", 124)));
+    }
+
+    @Test
+    void testActualizarComida_nuevaInformacionNutricional_debeRecalcularColumnasNutrientes(){
+
+        ActualizarComidaDTO entradaDTO = new ActualizarComidaDTO(
+                "test", null, null, null, null,
+                Map.of("proteinas", 42.5, "carbohidratos", Map.of("totales", "18")),
+                null
+        );
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndNombreComida(1L, "test")).thenReturn(Optional.of(comidaDB));
+
+        comidaService.actualizarComida(jwt, entradaDTO);
+
+        assertEquals(new BigDecimal("42.5"), comidaDB.getNutrientes().proteinas());
+        assertEquals(new BigDecimal("18"), comidaDB.getNutrientes().carbohidratosTotales());
+        assertEquals(0, comidaDB.getNutrientes().calorias().signum());
     }
 
     @Test
@@ -236,9 +425,10 @@ class ComidaServiceTest {
                 null
         );
 
-        when(comidaRepository.findByNombreComida("test")).thenReturn(Optional.of(comidaDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndNombreComida(1L, "test")).thenReturn(Optional.of(comidaDB));
 
-        ObtenerComidaDTO salidaDTO = comidaService.actualizarComida(entradaDTO);
+        ObtenerComidaDTO salidaDTO = comidaService.actualizarComida(jwt, entradaDTO);
 
         assertEquals("nuevo test", salidaDTO.nombreComida());
         assertEquals("test", salidaDTO.tipoComida());
@@ -261,9 +451,10 @@ class ComidaServiceTest {
                 null
         );
 
-        when(comidaRepository.findByNombreComida("test")).thenReturn(Optional.of(comidaDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndNombreComida(1L, "test")).thenReturn(Optional.of(comidaDB));
 
-        ObtenerComidaDTO salidaDTO = comidaService.actualizarComida(entradaDTO);
+        ObtenerComidaDTO salidaDTO = comidaService.actualizarComida(jwt, entradaDTO);
 
         assertEquals("test", salidaDTO.nombreComida());
         assertEquals("test", salidaDTO.tipoComida());
@@ -276,18 +467,49 @@ class ComidaServiceTest {
     @Test
     void testEliminarComida_comidaExiste_debeEliminarComida(){
 
-        when(comidaRepository.findByNombreComida("test")).thenReturn(Optional.of(comidaDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndNombreComida(1L, "test")).thenReturn(Optional.of(comidaDB));
 
-        comidaService.eliminarComida("test");
+        comidaService.eliminarComida(jwt, "test");
 
         verify(comidaRepository).delete(comidaDB);
+        verify(resumenDiarioService).eliminarComida(1L, LocalDate.of(2025,6,23),
+                NutrientesComida.desde(Map.of("proteins",23, "carbs", 46, "total fats", 12)));
+        verify(userRepository).incrementarVersionDatos(1L);
     }
 
     @Test
     void testHelper_comidaNoExiste_debeLanzarExcepcion(){
 
-        when(comidaRepository.findByNombreComida("test")).thenReturn(Optional.empty());
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByUserUserIdAndNombreComida(1L, "test")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> comidaService.eliminarComida(jwt, "test"));
+    }
+
+    @Test
+    void testActualizarComidaPorId_comidaPropia_debeActualizarYRetornarId(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByComidaIdAndUserUserId(1L, 1L)).thenReturn(Optional.of(comidaDB));
+
+        ObtenerComidaDTO salidaDTO = comidaService.actualizarComidaPorId(jwt, 1L,
+                new ActualizarComidaPorIdDTO("nuevo test", 750, null, null, null, null));
+
+        assertEquals(1L, salidaDTO.comidaId());
+        assertEquals("nuevo test", salidaDTO.nombreComida());
+        assertEquals(750, salidaDTO.cantidadEnGramos());
+        verify(userRepository).incrementarVersionDatos(1L);
+    }
+
+    @Test
+    void testEliminarComidaPorId_comidaDeOtroUser_debeLanzarExcepcionSinEliminar(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(comidaRepository.findByComidaIdAndUserUserId(7L, 1L)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> comidaService.eliminarComida("test"));
+        assertThrows(EntityNotFoundException.class, () -> comidaService.eliminarComidaPorId(jwt, 7L));
+        verify(comidaRepository, never()).delete(any());
+        verifyNoInteractions(resumenDiarioService);
     }
-}
\ No newline at end of file
+}
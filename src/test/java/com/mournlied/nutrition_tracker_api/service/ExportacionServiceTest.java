@@ -0,0 +1,201 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PGobject;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ProveedorUserAutenticado proveedorUserAutenticado;
+    @Mock
+    private Jwt jwt;
+
+    private ExportacionService exportacionService;
+
+    private final UserAutenticadoDTO userAutenticado = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
+    @BeforeEach
+    void setup(){
+        exportacionService = new ExportacionService(
+                jdbcTemplate, transactionManager, new ObjectMapper(), proveedorUserAutenticado, 250);
+    }
+
+    @Test
+    void testExportarComidas_ndjson_debeEscribirUnObjetoPorFilaConJsonSinParsear() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        simularFilas(List.of(
+                filaComida(7L, "pollo", "2025-06-23", 150, null, true, "{\"proteinas\": 31}"),
+                filaComida(8L, "arroz", "2025-06-24", 200, "con sal", false, "{\"calorias\": 260}")));
+
+        String salida = ejecutar(exportacionService.exportarComidas(jwt, FormatoExportacion.NDJSON));
+
+        String[] lineas = salida.split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].startsWith("{"));
+        assertTrue(lineas[1].startsWith("{"), "Cada linea debe empezar con el objeto, sin separador raiz");
+        assertTrue(salida.endsWith("}\n"));
+        Map<?, ?> primera = new ObjectMapper().readValue(lineas[0], Map.class);
+        assertEquals(7, primera.get("comidaId"));
+        assertEquals("2025-06-23", primera.get("fechaCreacionComida"));
+        assertNull(primera.get("descripcion"));
+        assertEquals(true, primera.get("esFavorita"));
+        assertEquals(Map.of("proteinas", 31), primera.get("informacionNutricional"));
+    }
+
+    @Test
+    void testExportarComidas_csv_debeEscribirEncabezadoYCitarValoresConSeparadores() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        simularFilas(List.of(
+                filaComida(7L, "pollo, \"asado\"", "2025-06-23", 150, null, true, "{\"proteinas\": 31}")));
+
+        String salida = ejecutar(exportacionService.exportarComidas(jwt, FormatoExportacion.CSV));
+
+        assertEquals("comidaId,nombreComida,fechaCreacionComida,cantidadEnGramos,descripcion,tipoComida,esFavorita,informacionNutricional\r\n"
+                + "7,\"pollo, \"\"asado\"\"\",2025-06-23,150,,Snack,t,\"{\"\"proteinas\"\": 31}\"\r\n", salida);
+    }
+
+    @Test
+    void testExportarComidas_csv_debeNeutralizarTextoQueEmpiezaComoFormula() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        simularFilas(List.of(
+                filaComida(7L, "=HYPERLINK(\"http://x\",\"pollo\")", "2025-06-23", 150, "@SUM(A1)", true, "{}"),
+                filaComida(8L, "-arroz", "2025-06-24", -5, "+1", false, "{}")));
+
+        String salida = ejecutar(exportacionService.exportarComidas(jwt, FormatoExportacion.CSV));
+
+        String[] lineas = salida.split("\r\n");
+        assertEquals("7,\"'=HYPERLINK(\"\"http://x\"\",\"\"pollo\"\")\",2025-06-23,150,'@SUM(A1),Snack,t,{}", lineas[1]);
+        assertEquals("8,'-arroz,2025-06-24,-5,'+1,Snack,f,{}", lineas[2]);
+    }
+
+    @Test
+    void testExportarHistorialPeso_sinRegistros_debeEscribirSoloEncabezadoCsv() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        simularFilas(List.of());
+
+        String salida = ejecutar(exportacionService.exportarHistorialPeso(jwt, FormatoExportacion.CSV));
+
+        assertEquals("fechaActual,pesoActual\r\n", salida);
+    }
+
+    @Test
+    void testExportar_debeUsarCursorDeSoloAvanceConFetchSizeEnTransaccionDeLectura() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Connection conexion = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(conexion.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(ps);
+        doAnswer(invocacion -> {
+            invocacion.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(conexion);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ejecutar(exportacionService.exportarHistorialPeso(jwt, FormatoExportacion.NDJSON));
+
+        verify(ps).setFetchSize(250);
+        verify(ps).setLong(1, 1L);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testExportarComidas_userNoExiste_debeLanzarExcepcionAntesDeTransmitir(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> exportacionService.exportarComidas(jwt, FormatoExportacion.NDJSON));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private String ejecutar(StreamingResponseBody cuerpo)
+            throws Exception {
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        cuerpo.writeTo(salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private void simularFilas(List<ResultSet> filas) {
+
+        doAnswer(invocacion -> {
+            RowCallbackHandler handler = invocacion.getArgument(1);
+            for (ResultSet fila : filas) {
+                handler.processRow(fila);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private ResultSet filaComida(Long id, String nombre, String fecha, Integer gramos, String descripcion,
+                                 Boolean favorita, String info) throws Exception {
+
+        PGobject json = new PGobject();
+        json.setType("jsonb");
+        json.setValue(info);
+
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getObject("comida_id")).thenReturn(id);
+        lenient().when(rs.getString("comida_id")).thenReturn(id.toString());
+        lenient().when(rs.getObject("nombre_comida")).thenReturn(nombre);
+        lenient().when(rs.getString("nombre_comida")).thenReturn(nombre);
+        lenient().when(rs.getObject("comida_creacion")).thenReturn(java.sql.Date.valueOf(fecha));
+        lenient().when(rs.getString("comida_creacion")).thenReturn(fecha);
+        lenient().when(rs.getObject("cantidad_gramos")).thenReturn(gramos);
+        lenient().when(rs.getString("cantidad_gramos")).thenReturn(gramos.toString());
+        lenient().when(rs.getObject("comida_descripcion")).thenReturn(descripcion);
+        lenient().when(rs.getString("comida_descripcion")).thenReturn(descripcion);
+        lenient().when(rs.getObject("tipo_comida")).thenReturn("Snack");
+        lenient().when(rs.getString("tipo_comida")).thenReturn("Snack");
+        lenient().when(rs.getObject("es_favorita")).thenReturn(favorita);
+        lenient().when(rs.getString("es_favorita")).thenReturn(favorita ? "t" : "f");
+        lenient().when(rs.getObject("info_nutricional")).thenReturn(json);
+        lenient().when(rs.getString("info_nutricional")).thenReturn(info);
+        return rs;
+    }
+}
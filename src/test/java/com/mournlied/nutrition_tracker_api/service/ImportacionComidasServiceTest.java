@@ -0,0 +1,317 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mournlied.nutrition_tracker_api.domain.comida.Comida;
+import com.mournlied.nutrition_tracker_api.domain.comida.EstadoRegistroComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoLoteComidasDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResultadoRegistroComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.exportacion.FormatoExportacion;
+import com.mournlied.nutrition_tracker_api.domain.importacion.dto.ResultadoImportacionDTO;
+import com.mournlied.nutrition_tracker_api.domain.user.User;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PGobject;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacionComidasServiceTest {
+
+    @Mock
+    private ComidaService comidaService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ProveedorUserAutenticado proveedorUserAutenticado;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Jwt jwt;
+
+    private ImportacionComidasService importacionService;
+
+    private final UserAutenticadoDTO userAutenticado = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
+    // Copia de cada lote recibido, la lista original la reutiliza el servicio
+    private final List<List<Comida>> lotesRecibidos = new ArrayList<>();
+
+    @BeforeEach
+    void setup(){
+        importacionService = new ImportacionComidasService(comidaService, userRepository, proveedorUserAutenticado,
+                transactionManager, entityManager, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), 2, 200);
+    }
+
+    @Test
+    void testImportarComidas_ndjsonConRegistrosInvalidos_debeRegistrarValidosEnLotesEInformarErrores() throws Exception{
+
+        prepararEscritura();
+        String archivo = """
+                {"nombreComida":"a","cantidadEnGramos":100,"tipoComida":"Snack","informacionNutricional":{"proteinas":1},"esFavorita":false}
+
+                {"nombreComida":"b","tipoComida":"Snack","informacionNutricional":{"proteinas":1},"esFavorita":false}
+                {"nombreComida":"c", esto no es json
+                {"comidaId":9,"nombreComida":"d","fechaCreacionComida":"2024-02-29","cantidadEnGramos":"150","tipoComida":"Cena","informacionNutricional":{"proteinas":2},"esFavorita":true}
+                {"nombreComida":"e","fechaCreacionComida":"2999-01-01","cantidadEnGramos":1,"tipoComida":"Snack","informacionNutricional":{"a":1},"esFavorita":false}
+                {"nombreComida":"f","cantidadEnGramos":100,"tipoComida":"Snack","informacionNutricional":{"proteinas":3},"esFavorita":false}
+                """;
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.NDJSON, archivo);
+
+        assertEquals(6, resultado.registrosLeidos());
+        assertEquals(3, resultado.registradas());
+        assertEquals(3, resultado.invalidos());
+        assertEquals(List.of(2L, 3L, 5L), resultado.errores().stream().map(e -> e.registro()).toList());
+        assertEquals("cantidadEnGramos: must not be null", resultado.errores().get(0).mensaje());
+        assertTrue(resultado.errores().get(1).mensaje().startsWith("JSON inválido"));
+        assertEquals("fechaCreacionComida: no puede ser futura", resultado.errores().get(2).mensaje());
+
+        assertEquals(2, lotesRecibidos.size());
+        assertEquals(List.of("a", "d"), lotesRecibidos.get(0).stream().map(Comida::getNombreComida).toList());
+        assertEquals(LocalDate.of(2024,2,29), lotesRecibidos.get(0).get(1).getFechaCreacionComida());
+        assertEquals(150, lotesRecibidos.get(0).get(1).getCantidadEnGramos());
+        assertEquals(LocalDate.now(), lotesRecibidos.get(1).get(0).getFechaCreacionComida());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testImportarComidas_csvConFormatoDeExportacion_debeLeerCamposCitadosYJson() throws Exception{
+
+        prepararEscritura();
+        String archivo = "comidaId,nombreComida,fechaCreacionComida,cantidadEnGramos,descripcion,tipoComida,esFavorita,informacionNutricional\r\n"
+                + "7,\"pollo, \"\"asado\"\"\",2025-06-23,150,\"linea 1\nlinea 2\",Snack,t,\"{\"\"grasa\"\": {\"\"trans\"\": 0}}\"\r\n"
+                + "8,arroz,2025-06-24,200,,Almuerzo,f,{}\r\n"
+                + "9,solo,dos\r\n";
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.CSV, archivo);
+
+        assertEquals(3, resultado.registrosLeidos());
+        assertEquals(1, resultado.registradas());
+        assertEquals(2, resultado.invalidos());
+        assertEquals("informacionNutricional: must not be empty", resultado.errores().get(0).mensaje());
+        assertEquals("Se esperaban 8 columnas y se leyeron 3", resultado.errores().get(1).mensaje());
+
+        Comida comida = lotesRecibidos.get(0).get(0);
+        assertEquals("pollo, \"asado\"", comida.getNombreComida());
+        assertEquals("linea 1\nlinea 2", comida.getDescripcion());
+        assertEquals(true, comida.getEsFavorita());
+        assertEquals(Map.of("grasa", Map.of("trans", 0)), comida.getInformacionNutricional());
+    }
+
+    @Test
+    void testImportarComidas_variosLotes_debeVaciarPersistenceContextAntesDelLoteSiguiente() throws Exception{
+
+        prepararEscritura();
+        StringBuilder archivo = new StringBuilder();
+        for (String nombre : List.of("a", "b", "c", "d", "e")) {
+            archivo.append("{\"nombreComida\":\"").append(nombre)
+                    .append("\",\"cantidadEnGramos\":1,\"tipoComida\":\"Snack\",\"informacionNutricional\":{\"a\":1},\"esFavorita\":false}\n");
+        }
+
+        importar(FormatoExportacion.NDJSON, archivo.toString());
+
+        // Cada lote se escribe y se desprende del EntityManager antes de confirmar su transaccion
+        InOrder orden = inOrder(comidaService, entityManager, transactionManager);
+        for (int lote = 0; lote < 3; lote++) {
+            orden.verify(comidaService).registrarComidasSinConflictos(eq(1L), any());
+            orden.verify(entityManager).flush();
+            orden.verify(entityManager).clear();
+            orden.verify(transactionManager).commit(any());
+        }
+    }
+
+    @Test
+    void testImportarComidas_ndjsonConLineaMasLargaQueElMaximo_debeDescartarlaYSeguir() throws Exception{
+
+        prepararEscritura();
+        String archivo = "{\"nombreComida\":\"" + "x".repeat(10_000) + "\"}\n"
+                + "{\"nombreComida\":\"a\",\"cantidadEnGramos\":1,\"tipoComida\":\"Snack\",\"informacionNutricional\":{\"a\":1},\"esFavorita\":false}\n";
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.NDJSON, archivo);
+
+        assertEquals(2, resultado.registrosLeidos());
+        assertEquals(1, resultado.registradas());
+        assertEquals(1, resultado.invalidos());
+        assertEquals(1, resultado.errores().get(0).registro());
+        assertEquals("El registro excede el máximo de 200 caracteres", resultado.errores().get(0).mensaje());
+    }
+
+    @Test
+    void testImportarComidas_csvConFilaMasLargaQueElMaximo_debeDescartarlaYSeguir() throws Exception{
+
+        prepararEscritura();
+        String archivo = "nombreComida,cantidadEnGramos,tipoComida,esFavorita,informacionNutricional\r\n"
+                + "\"" + "x,".repeat(5_000) + "\",1,Snack,f,{}\r\n"
+                + "a,1,Snack,f,\"{\"\"a\"\": 1}\"\r\n";
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.CSV, archivo);
+
+        assertEquals(2, resultado.registrosLeidos());
+        assertEquals(1, resultado.registradas());
+        assertEquals("El registro excede el máximo de 200 caracteres", resultado.errores().get(0).mensaje());
+        assertEquals("a", lotesRecibidos.get(0).get(0).getNombreComida());
+    }
+
+    @Test
+    void testImportarComidas_csvConComillaSinCerrar_debeDescartarElRestoSinAcumularlo() throws Exception{
+
+        prepararEscritura();
+        String archivo = "nombreComida,cantidadEnGramos,tipoComida,esFavorita,informacionNutricional\r\n"
+                + "a,1,Snack,f,\"{\"\"a\"\": 1}\"\r\n"
+                + "\"sin cerrar," + "linea\r\n".repeat(5_000);
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.CSV, archivo);
+
+        assertEquals(2, resultado.registrosLeidos());
+        assertEquals(1, resultado.registradas());
+        assertEquals(1, resultado.invalidos());
+        assertEquals("El registro excede el máximo de 200 caracteres", resultado.errores().get(0).mensaje());
+    }
+
+    @Test
+    void testImportarComidas_csvExportado_debeConservarTextosQueEmpiezanComoFormula() throws Exception{
+
+        prepararEscritura();
+        List<String> nombres = List.of("-Arroz", "=SUMA(A1)", "'@casa", "''+uno", "'normal");
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocacion -> {
+            RowCallbackHandler handler = invocacion.getArgument(1);
+            for (int i = 0; i < nombres.size(); i++) {
+                handler.processRow(filaExportada((long) i, nombres.get(i), "+" + i));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ExportacionService exportacionService = new ExportacionService(
+                jdbcTemplate, transactionManager, new ObjectMapper(), proveedorUserAutenticado, 250);
+
+        ByteArrayOutputStream exportado = new ByteArrayOutputStream();
+        exportacionService.exportarComidas(jwt, FormatoExportacion.CSV).writeTo(exportado);
+        importar(FormatoExportacion.CSV, exportado.toString(StandardCharsets.UTF_8));
+
+        List<Comida> importadas = lotesRecibidos.stream().flatMap(List::stream).toList();
+        assertEquals(nombres, importadas.stream().map(Comida::getNombreComida).toList());
+        assertEquals("+0", importadas.get(0).getDescripcion());
+    }
+
+    @Test
+    void testImportarComidas_nombreExistente_debeContarConflictoConNumeroDeRegistro() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(comidaService.registrarComidasSinConflictos(eq(1L), any())).thenReturn(new ResultadoLoteComidasDTO(1, 1, List.of(
+                new ResultadoRegistroComidaDTO(0, "a", EstadoRegistroComida.CONFLICTO, null),
+                new ResultadoRegistroComidaDTO(1, "b", EstadoRegistroComida.REGISTRADA, null))));
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.NDJSON, """
+                {"nombreComida":"x"}
+                {"nombreComida":"a","cantidadEnGramos":1,"tipoComida":"Snack","informacionNutricional":{"a":1},"esFavorita":false}
+                {"nombreComida":"b","cantidadEnGramos":1,"tipoComida":"Snack","informacionNutricional":{"a":1},"esFavorita":false}
+                """);
+
+        assertEquals(1, resultado.registradas());
+        assertEquals(1, resultado.conflictos());
+        assertEquals(2, resultado.errores().get(1).registro());
+        assertEquals("Ya tienes una comida registrada con ese nombre.", resultado.errores().get(1).mensaje());
+    }
+
+    @Test
+    void testImportarComidas_loteRechazadoPorIntegridad_debeSeguirConLotesSiguientes() throws Exception{
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(comidaService.registrarComidasSinConflictos(eq(1L), any()))
+                .thenThrow(new DataIntegrityViolationException("nombre_comida_user_unico"))
+                .thenReturn(new ResultadoLoteComidasDTO(1, 0, List.of(
+                        new ResultadoRegistroComidaDTO(0, "c", EstadoRegistroComida.REGISTRADA, null))));
+
+        StringBuilder archivo = new StringBuilder();
+        for (String nombre : List.of("a", "b", "c")) {
+            archivo.append("{\"nombreComida\":\"").append(nombre)
+                    .append("\",\"cantidadEnGramos\":1,\"tipoComida\":\"Snack\",\"informacionNutricional\":{\"a\":1},\"esFavorita\":false}\n");
+        }
+
+        ResultadoImportacionDTO resultado = importar(FormatoExportacion.NDJSON, archivo.toString());
+
+        assertEquals(2, resultado.invalidos());
+        assertEquals(1, resultado.registradas());
+        verify(transactionManager).rollback(any());
+    }
+
+    private void prepararEscritura() {
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        when(comidaService.registrarComidasSinConflictos(eq(1L), any())).thenAnswer(invocacion -> {
+            List<Comida> comidas = invocacion.getArgument(1);
+            lotesRecibidos.add(List.copyOf(comidas));
+            List<ResultadoRegistroComidaDTO> resultados = new ArrayList<>();
+            for (int i = 0; i < comidas.size(); i++) {
+                resultados.add(new ResultadoRegistroComidaDTO(
+                        i, comidas.get(i).getNombreComida(), EstadoRegistroComida.REGISTRADA, null));
+            }
+            return new ResultadoLoteComidasDTO(comidas.size(), 0, resultados);
+        });
+    }
+
+    private ResultSet filaExportada(Long id, String nombre, String descripcion) throws Exception {
+
+        PGobject json = new PGobject();
+        json.setType("jsonb");
+        json.setValue("{\"proteinas\": 1}");
+
+        Map<String, Object> valores = new HashMap<>();
+        valores.put("comida_id", id);
+        valores.put("nombre_comida", nombre);
+        valores.put("comida_creacion", java.sql.Date.valueOf("2025-06-23"));
+        valores.put("cantidad_gramos", 100);
+        valores.put("comida_descripcion", descripcion);
+        valores.put("tipo_comida", "Snack");
+        valores.put("es_favorita", false);
+        valores.put("info_nutricional", json);
+
+        ResultSet rs = mock(ResultSet.class);
+        for (Map.Entry<String, Object> valor : valores.entrySet()) {
+            lenient().when(rs.getObject(valor.getKey())).thenReturn(valor.getValue());
+            String texto = valor.getValue() instanceof Boolean b ? (b ? "t" : "f") : valor.getValue().toString();
+            lenient().when(rs.getString(valor.getKey())).thenReturn(texto);
+        }
+        return rs;
+    }
+
+    private ResultadoImportacionDTO importar(FormatoExportacion formato, String archivo) throws Exception {
+        return importacionService.importarComidas(jwt, formato,
+                new ByteArrayInputStream(archivo.getBytes(StandardCharsets.UTF_8)));
+    }
+}
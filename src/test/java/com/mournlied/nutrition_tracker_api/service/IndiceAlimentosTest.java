@@ -0,0 +1,92 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.Alimento;
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.RegistroAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import com.mournlied.nutrition_tracker_api.repository.AlimentoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceAlimentosTest {
+
+    @Mock
+    private AlimentoRepository alimentoRepository;
+
+    private final Alimento pollo = alimento(1L, "Filete de pollo", "165", "31", "0", "3.6", "74");
+    private final Alimento arroz = alimento(4L, "Arroz blanco cocido", "130", "2.7", "28", "0.1", "1");
+
+    @Test
+    void testNutrientesPara_alimentoExiste_debeEscalarPorCantidadEnGramos(){
+
+        IndiceAlimentos indice = new IndiceAlimentos(alimentoRepository, Duration.ofMinutes(1));
+        when(alimentoRepository.findAllByOrderByAlimentoIdAsc()).thenReturn(List.of(pollo, arroz));
+        indice.reconstruir();
+
+        NutrientesComida nutrientes = indice.nutrientesPara(1L, 150).orElseThrow();
+
+        assertEquals(new BigDecimal("247.50"), nutrientes.calorias());
+        assertEquals(new BigDecimal("46.50"), nutrientes.proteinas());
+        assertEquals(new BigDecimal("5.40"), nutrientes.grasaSaturada());
+        assertEquals(new BigDecimal("111.00"), nutrientes.sodio());
+        assertEquals(0, nutrientes.fibra().signum());
+        assertEquals(new BigDecimal("5.40"), indice.nutrientesPara(4L, 200).orElseThrow().proteinas());
+        assertEquals(2, indice.cantidadAlimentos());
+    }
+
+    @Test
+    void testNutrientesPara_indiceSinConstruir_debeConstruirloAlPrimerUso(){
+
+        IndiceAlimentos indice = new IndiceAlimentos(alimentoRepository, Duration.ofMinutes(1));
+        when(alimentoRepository.findAllByOrderByAlimentoIdAsc()).thenReturn(List.of(pollo));
+
+        assertTrue(indice.nutrientesPara(1L, 100).isPresent());
+        assertTrue(indice.nutrientesPara(1L, 100).isPresent());
+        verify(alimentoRepository, times(1)).findAllByOrderByAlimentoIdAsc();
+    }
+
+    @Test
+    void testNutrientesPara_idDesconocidoDentroDelIntervalo_noDebeReconstruir(){
+
+        IndiceAlimentos indice = new IndiceAlimentos(alimentoRepository, Duration.ofMinutes(1));
+        when(alimentoRepository.findAllByOrderByAlimentoIdAsc()).thenReturn(List.of(pollo));
+        indice.reconstruir();
+
+        assertTrue(indice.nutrientesPara(99L, 100).isEmpty());
+        assertTrue(indice.nutrientesPara(99L, 100).isEmpty());
+        verify(alimentoRepository, times(1)).findAllByOrderByAlimentoIdAsc();
+    }
+
+    @Test
+    void testNutrientesPara_idCreadoEnOtraInstanciaTrasIntervalo_debeReconstruirYEncontrarlo(){
+
+        IndiceAlimentos indice = new IndiceAlimentos(alimentoRepository, Duration.ZERO);
+        when(alimentoRepository.findAllByOrderByAlimentoIdAsc())
+                .thenReturn(List.of(pollo))
+                .thenReturn(List.of(pollo, arroz));
+        indice.reconstruir();
+
+        assertTrue(indice.nutrientesPara(4L, 100).isPresent());
+        verify(alimentoRepository, times(2)).findAllByOrderByAlimentoIdAsc();
+    }
+
+    private static Alimento alimento(Long id, String nombre, String calorias, String proteinas,
+                                     String carbohidratos, String grasaSaturada, String sodio){
+
+        Alimento alimento = new Alimento(new RegistroAlimentoDTO(nombre,
+                new BigDecimal(calorias), new BigDecimal(proteinas), new BigDecimal(carbohidratos), BigDecimal.ZERO,
+                new BigDecimal(grasaSaturada), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal(sodio)));
+        ReflectionTestUtils.setField(alimento, "alimentoId", id);
+        return alimento;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndicePrefijosTest {
+
+    private final IndicePrefijos indice = IndicePrefijos.desde(List.of(
+            "Filete de pollo",
+            "Arroz con pollo",
+            "Plátano",
+            "Pollo al horno"));
+
+    @Test
+    void testBuscar_prefijoDePalabraInterna_debeEncontrarTextosSinRepetir(){
+
+        int[] posiciones = indice.buscar("pol", 10);
+
+        assertEquals(3, posiciones.length);
+        assertArrayEquals(new int[]{0, 1, 3}, posiciones);
+    }
+
+    @Test
+    void testBuscar_sinTildesNiMayusculas_debeEncontrarTextoConTilde(){
+
+        assertArrayEquals(new int[]{2}, indice.buscar("PLATA", 10));
+        assertArrayEquals(new int[]{2}, indice.buscar("plát", 10));
+    }
+
+    @Test
+    void testBuscar_prefijoConVariasPalabras_debeCoincidirDesdeEsaPalabra(){
+
+        assertArrayEquals(new int[]{0}, indice.buscar("de po", 10));
+        assertEquals(0, indice.buscar("filete pollo", 10).length);
+    }
+
+    @Test
+    void testBuscar_limite_debeCortarResultados(){
+
+        assertEquals(2, indice.buscar("pollo", 2).length);
+    }
+
+    @Test
+    void testBuscar_textoEnBlanco_debeRetornarVacio(){
+
+        assertEquals(0, indice.buscar("  ", 10).length);
+        assertEquals(0, IndicePrefijos.desde(List.of()).buscar("a", 10).length);
+    }
+}
@@ -3,15 +3,18 @@ package com.mournlied.nutrition_tracker_api.service;
 import com.mournlied.nutrition_tracker_api.domain.user.HistorialPeso;
 import com.mournlied.nutrition_tracker_api.domain.user.InformacionPersonal;
 import com.mournlied.nutrition_tracker_api.domain.user.Rol;
+import com.mournlied.nutrition_tracker_api.domain.user.SeriePesoProyeccion;
 import com.mournlied.nutrition_tracker_api.domain.user.User;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.*;
 import com.mournlied.nutrition_tracker_api.repository.HistorialPesoRepository;
 import com.mournlied.nutrition_tracker_api.repository.InfoPersonalRepository;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.junit.jupiter.api.BeforeEach;
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,10 +24,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +42,8 @@ class InfoPersonalServiceTest {
     UserRepository userRepository;
     @Mock
     HistorialPesoRepository historialPesoRepository;
+    @Mock
+    ProveedorUserAutenticado proveedorUserAutenticado;
 
     @InjectMocks
     InfoPersonalService infoPersonalService;
@@ -52,6 +60,8 @@ class InfoPersonalServiceTest {
             "test@example.com",
             1);
 
+    private final UserAutenticadoDTO userAutenticado = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
     private final HistorialPeso historialPeso = new HistorialPeso(
             1,
             new InformacionPersonal(),
@@ -79,11 +89,6 @@ class InfoPersonalServiceTest {
             paginacion,
             4);
 
-    @BeforeEach
-    void setup(){
-        lenient().when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-    }
-
     @Test
     void testRegistrarInfoPersonal_requetsValida_debeRetornarNuevaInfoPersonal(){
 
@@ -94,7 +99,8 @@ class InfoPersonalServiceTest {
                 180,
                 "test");
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(userRepository.getReferenceById(1L)).thenReturn(userDB);
 
         InformacionPersonalDTO salidaDTO = infoPersonalService.registrarInfoPersonal(jwt, entradaDTO);
 
@@ -115,7 +121,7 @@ class InfoPersonalServiceTest {
                 180,
                 "test");
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.empty());
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> infoPersonalService.registrarInfoPersonal(jwt, entradaDTO));
     }
@@ -130,7 +136,7 @@ class InfoPersonalServiceTest {
                 178,
                 "nuevo test");
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(personalRepository.findByUserUserId(1L)).thenReturn(Optional.of(personalDB));
 
         InformacionPersonalDTO salidaDTO = infoPersonalService.actualizarInfoPersonalBase(jwt, entradaDTO);
@@ -151,7 +157,7 @@ class InfoPersonalServiceTest {
                 null,
                 null);
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(personalRepository.findByUserUserId(1L)).thenReturn(Optional.of(personalDB));
 
         InformacionPersonalDTO salidaDTO = infoPersonalService.actualizarInfoPersonalBase(jwt, entradaDTO);
@@ -173,7 +179,7 @@ class InfoPersonalServiceTest {
                 178,
                 "");
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(personalRepository.findByUserUserId(1L)).thenReturn(Optional.of(personalDB));
 
         InformacionPersonalDTO salidaDTO = infoPersonalService.actualizarInfoPersonalBase(jwt, entradaDTO);
@@ -193,7 +199,7 @@ class InfoPersonalServiceTest {
                 178,
                 "");
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(personalRepository.findByUserUserId(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
@@ -205,21 +211,43 @@ class InfoPersonalServiceTest {
 
         RegistroHistorialPesoDTO entradaDTO = new RegistroHistorialPesoDTO(79);
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
-        when(personalRepository.findByUserUserId(1L)).thenReturn(Optional.of(personalDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(personalRepository.existsById(1L)).thenReturn(true);
+        when(personalRepository.getReferenceById(1L)).thenReturn(personalDB);
+        when(historialPesoRepository.findByPersonalInfo_InfoPersonalId(1L, paginacion))
+                .thenReturn(paginaHistorialPeso);
 
         Page<ObtenerHistorialPesoDTO> paginaSalida = infoPersonalService.actualizarHistorialPeso(
                 jwt, paginacion ,entradaDTO);
 
-        assertEquals(5, paginaSalida.getContent().size());
-        assertEquals(79, paginaSalida.getContent().get(4).pesoActual());
-        assertEquals(LocalDate.now(), paginaSalida.getContent().get(4).fechaActual());
+        ArgumentCaptor<HistorialPeso> historialCaptor = ArgumentCaptor.forClass(HistorialPeso.class);
+        verify(historialPesoRepository).save(historialCaptor.capture());
+
+        assertSame(personalDB, historialCaptor.getValue().getPersonalInfo());
+        assertEquals(79, historialCaptor.getValue().getPesoActual());
+        assertEquals(LocalDate.now(), historialCaptor.getValue().getFechaActual());
+        assertEquals(4, paginaSalida.getContent().size());
+        assertEquals(paginacion, paginaSalida.getPageable());
+        verify(personalRepository, never()).findByUserUserId(any());
+    }
+
+    @Test
+    void testActualizarHistorialPeso_infoPersonalNoExiste_debeLanzarExcepcion(){
+
+        RegistroHistorialPesoDTO entradaDTO = new RegistroHistorialPesoDTO(79);
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(personalRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> infoPersonalService.actualizarHistorialPeso(jwt, paginacion, entradaDTO));
+        verify(historialPesoRepository, never()).save(any());
     }
 
     @Test
     void testObtenerHistorialPeso_requestValida_debeRetornarPaginaHistorialPeso(){
 
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
         when(historialPesoRepository.findByPersonalInfo_InfoPersonalId(1L, paginacion))
                 .thenReturn(paginaHistorialPeso);
 
@@ -229,4 +257,52 @@ class InfoPersonalServiceTest {
         assertEquals(80, paginaSalida.getContent().get(0).pesoActual());
         assertEquals(LocalDate.now(), paginaSalida.getContent().get(0).fechaActual());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObtenerSeriePeso_rangoMayorQuePuntos_debeAgruparEnIntervalosYRecortarUltimo(){
+
+        SeriePesoProyeccion punto = mock(SeriePesoProyeccion.class);
+        when(punto.getInicioIntervalo()).thenReturn(LocalDate.of(2025,1,29));
+        when(punto.getCantidadRegistros()).thenReturn(3L);
+        when(punto.getPesoMinimo()).thenReturn(79);
+        when(punto.getPesoPromedio()).thenReturn(new BigDecimal("80.3333333333"));
+        when(punto.getPesoMaximo()).thenReturn(82);
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        // 31 dias en 3 puntos: intervalos de 11 dias, el ultimo termina en endDate
+        when(historialPesoRepository.resumirSeriePeso(1L, LocalDate.of(2025,1,7), LocalDate.of(2025,2,6), 11))
+                .thenReturn(List.of(punto));
+
+        SeriePesoDTO salida = infoPersonalService.obtenerSeriePeso(
+                jwt, LocalDate.of(2025,1,7), LocalDate.of(2025,2,6), 3);
+
+        assertEquals(11, salida.diasPorIntervalo());
+        assertEquals(1, salida.puntos().size());
+        assertEquals(LocalDate.of(2025,2,6), salida.puntos().get(0).finIntervalo());
+        assertEquals(new BigDecimal("80.33"), salida.puntos().get(0).pesoPromedio());
+        assertEquals(79, salida.puntos().get(0).pesoMinimo());
+    }
+
+    @Test
+    void testObtenerSeriePeso_sinFechas_debeUsarUltimoAnio(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        SeriePesoDTO salida = infoPersonalService.obtenerSeriePeso(jwt, null, null, 100);
+
+        assertEquals(LocalDate.now().minusYears(1), salida.startDate());
+        assertEquals(LocalDate.now(), salida.endDate());
+        verify(historialPesoRepository).resumirSeriePeso(
+                eq(1L), eq(LocalDate.now().minusYears(1)), eq(LocalDate.now()), anyInt());
+    }
+
+    @Test
+    void testObtenerSeriePeso_startDatePosteriorAEndDate_debeLanzarExcepcion(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        assertThrows(ValidationException.class, () -> infoPersonalService.obtenerSeriePeso(
+                jwt, LocalDate.of(2025,2,6), LocalDate.of(2025,1,7), 100));
+        verifyNoInteractions(historialPesoRepository);
+    }
+}
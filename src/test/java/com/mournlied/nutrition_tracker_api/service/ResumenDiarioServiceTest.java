@@ -0,0 +1,116 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.NutrientesComida;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenReconstruidoDTO;
+import com.mournlied.nutrition_tracker_api.repository.ResumenDiarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumenDiarioServiceTest {
+
+    @Mock
+    private ResumenDiarioRepository resumenDiarioRepository;
+
+    @InjectMocks
+    private ResumenDiarioService resumenDiarioService;
+
+    private final LocalDate fecha = LocalDate.of(2025,6,23);
+
+    private final Map<String, Object> informacion = Map.of(
+            "calorias", 165,
+            "proteinas", 31.5,
+            "carbohidratos", Map.of("totales", "12", "azucares", 2),
+            "grasa", Map.of("saturada", 3.6, "trans", "no informado"),
+            "sodio", 74);
+
+    private final NutrientesComida nutrientes = NutrientesComida.desde(informacion);
+
+    @Test
+    void testRegistrarComida_debeSumarUnaComidaConNutrientesExtraidos(){
+
+        resumenDiarioService.registrarComida(1L, fecha, nutrientes);
+
+        ArgumentCaptor<NutrientesComida> captor = ArgumentCaptor.forClass(NutrientesComida.class);
+        verify(resumenDiarioRepository).sumarDelta(eq(1L), eq(fecha), eq(1), captor.capture());
+
+        NutrientesComida delta = captor.getValue();
+        assertEquals(new BigDecimal("165"), delta.calorias());
+        assertEquals(new BigDecimal("31.5"), delta.proteinas());
+        assertEquals(new BigDecimal("12"), delta.carbohidratosTotales());
+        assertEquals(new BigDecimal("3.6"), delta.grasaSaturada());
+        assertEquals(0, delta.grasaTrans().signum());
+        assertEquals(0, delta.fibra().signum());
+    }
+
+    @Test
+    void testRegistrarComidas_lote_debeSumarTodasEnUnSoloUpsert(){
+
+        resumenDiarioService.registrarComidas(1L, fecha, List.of(nutrientes, NutrientesComida.desde(Map.of("calorias", "35", "fibra", 4))));
+
+        ArgumentCaptor<NutrientesComida> captor = ArgumentCaptor.forClass(NutrientesComida.class);
+        verify(resumenDiarioRepository).sumarDelta(eq(1L), eq(fecha), eq(2), captor.capture());
+
+        assertEquals(new BigDecimal("200"), captor.getValue().calorias());
+        assertEquals(new BigDecimal("4"), captor.getValue().fibra());
+        verifyNoMoreInteractions(resumenDiarioRepository);
+    }
+
+    @Test
+    void testActualizarComida_nutrientesSinCambios_noDebeEscribirRollup(){
+
+        resumenDiarioService.actualizarComida(1L, fecha, nutrientes, NutrientesComida.desde(Map.copyOf(informacion)));
+
+        verifyNoInteractions(resumenDiarioRepository);
+    }
+
+    @Test
+    void testActualizarComida_nutrientesCambian_debeSumarSoloLaDiferencia(){
+
+        resumenDiarioService.actualizarComida(1L, fecha, nutrientes,
+                NutrientesComida.desde(Map.of("calorias", 200, "proteinas", 30)));
+
+        ArgumentCaptor<NutrientesComida> captor = ArgumentCaptor.forClass(NutrientesComida.class);
+        verify(resumenDiarioRepository).sumarDelta(eq(1L), eq(fecha), eq(0), captor.capture());
+
+        assertEquals(new BigDecimal("35"), captor.getValue().calorias());
+        assertEquals(new BigDecimal("-1.5"), captor.getValue().proteinas());
+        assertEquals(new BigDecimal("-74"), captor.getValue().sodio());
+    }
+
+    @Test
+    void testEliminarComida_debeRestarComidaYLimpiarDiaVacio(){
+
+        resumenDiarioService.eliminarComida(1L, fecha, nutrientes);
+
+        ArgumentCaptor<NutrientesComida> captor = ArgumentCaptor.forClass(NutrientesComida.class);
+        verify(resumenDiarioRepository).sumarDelta(eq(1L), eq(fecha), eq(-1), captor.capture());
+        verify(resumenDiarioRepository).eliminarSiVacio(1L, fecha);
+
+        assertEquals(new BigDecimal("-165"), captor.getValue().calorias());
+    }
+
+    @Test
+    void testReconstruir_sinUserId_debeReconstruirTodos(){
+
+        when(resumenDiarioRepository.reconstruir(null)).thenReturn(42);
+
+        ResumenReconstruidoDTO salida = resumenDiarioService.reconstruir(null);
+
+        assertNull(salida.userId());
+        assertEquals(42, salida.diasReconstruidos());
+    }
+}
@@ -0,0 +1,140 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.comida.AgrupacionResumen;
+import com.mournlied.nutrition_tracker_api.domain.comida.ResumenNutricionalProyeccion;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.ResumenNutricionalDTO;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.ResumenDiarioRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumenNutricionalServiceTest {
+
+    @Mock
+    private ResumenDiarioRepository resumenDiarioRepository;
+    @Mock
+    private ProveedorUserAutenticado proveedorUserAutenticado;
+
+    @InjectMocks
+    private ResumenNutricionalService resumenNutricionalService;
+
+    @Mock
+    private Jwt jwt;
+    @Mock
+    private ResumenNutricionalProyeccion proyeccion;
+
+    private final UserAutenticadoDTO userAutenticado = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
+    @Test
+    void testObtenerResumen_porDiaSinFechas_debeResumirUltimos7DiasYAnidarNutrientes(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(proyeccion.getInicioPeriodo()).thenReturn(LocalDate.now());
+        when(proyeccion.getCantidadComidas()).thenReturn(2L);
+        when(proyeccion.getProteinas()).thenReturn(new BigDecimal("62"));
+        when(proyeccion.getCarbohidratosTotales()).thenReturn(new BigDecimal("40.5"));
+        when(proyeccion.getGrasaTrans()).thenReturn(BigDecimal.ZERO);
+        when(resumenDiarioRepository.resumirPorPeriodo(
+                1L, LocalDate.now().minusDays(6), LocalDate.now(), "day"))
+                .thenReturn(List.of(proyeccion));
+
+        List<ResumenNutricionalDTO> salida =
+                resumenNutricionalService.obtenerResumen(jwt, AgrupacionResumen.DIA, null, null);
+
+        assertEquals(1, salida.size());
+        assertEquals(2L, salida.get(0).cantidadComidas());
+        assertEquals(new BigDecimal("62"), salida.get(0).proteinas());
+        assertEquals(new BigDecimal("40.5"), salida.get(0).carbohidratos().totales());
+        assertEquals(BigDecimal.ZERO, salida.get(0).grasa().trans());
+    }
+
+    @Test
+    void testObtenerResumen_porSemanaSinStartDate_debeResumirUltimas4Semanas(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        resumenNutricionalService.obtenerResumen(jwt, AgrupacionResumen.SEMANA, null, LocalDate.of(2025,6,30));
+
+        verify(resumenDiarioRepository).resumirPorPeriodo(
+                1L, LocalDate.of(2025,6,2), LocalDate.of(2025,6,30), "week");
+    }
+
+    @Test
+    void testObtenerResumen_porSemanaSinStartDateYEndDateMiercoles_debeEmpezarElLunes(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        resumenNutricionalService.obtenerResumen(jwt, AgrupacionResumen.SEMANA, null, LocalDate.of(2025,7,2));
+
+        verify(resumenDiarioRepository).resumirPorPeriodo(
+                1L, LocalDate.of(2025,6,2), LocalDate.of(2025,7,2), "week");
+    }
+
+    @Test
+    void testObtenerResumen_porSemanaConStartDateJueves_debeAjustarAlLunes(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        resumenNutricionalService.obtenerResumen(
+                jwt, AgrupacionResumen.SEMANA, LocalDate.of(2025,6,12), LocalDate.of(2025,6,30));
+
+        verify(resumenDiarioRepository).resumirPorPeriodo(
+                1L, LocalDate.of(2025,6,9), LocalDate.of(2025,6,30), "week");
+    }
+
+    @Test
+    void testObtenerResumen_porDiaConStartDateJueves_noDebeAjustarFecha(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        resumenNutricionalService.obtenerResumen(
+                jwt, AgrupacionResumen.DIA, LocalDate.of(2025,6,12), LocalDate.of(2025,6,30));
+
+        verify(resumenDiarioRepository).resumirPorPeriodo(
+                1L, LocalDate.of(2025,6,12), LocalDate.of(2025,6,30), "day");
+    }
+
+    @Test
+    void testObtenerResumen_startDatePosteriorAEndDate_debeLanzarExcepcion(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        assertThrows(ValidationException.class, () -> resumenNutricionalService.obtenerResumen(
+                jwt, AgrupacionResumen.DIA, LocalDate.of(2025,7,1), LocalDate.of(2025,6,1)));
+        verifyNoInteractions(resumenDiarioRepository);
+    }
+
+    @Test
+    void testObtenerResumen_rangoMayorAUnAnio_debeLanzarExcepcion(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+
+        assertThrows(ValidationException.class, () -> resumenNutricionalService.obtenerResumen(
+                jwt, AgrupacionResumen.SEMANA, LocalDate.of(2023,1,1), LocalDate.of(2025,1,1)));
+    }
+
+    @Test
+    void testObtenerResumen_userNoExiste_debeLanzarExcepcion(){
+
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> resumenNutricionalService.obtenerResumen(jwt, AgrupacionResumen.DIA, null, null));
+    }
+}
@@ -0,0 +1,88 @@
+package com.mournlied.nutrition_tracker_api.service;
+
+import com.mournlied.nutrition_tracker_api.domain.alimento.dto.SugerenciaAlimentoDTO;
+import com.mournlied.nutrition_tracker_api.domain.comida.dto.SugerenciasComidaDTO;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
+import com.mournlied.nutrition_tracker_api.repository.AlimentoRepository;
+import com.mournlied.nutrition_tracker_api.repository.ComidaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SugerenciasComidaServiceTest {
+
+    @Mock
+    private ProveedorUserAutenticado proveedorUserAutenticado;
+    @Mock
+    private CacheNombresComida cacheNombresComida;
+    @Mock
+    private IndiceAlimentos indiceAlimentos;
+    @Mock
+    private ComidaRepository comidaRepository;
+    @Mock
+    private AlimentoRepository alimentoRepository;
+
+    @InjectMocks
+    private SugerenciasComidaService sugerenciasComidaService;
+
+    @Mock
+    private Jwt jwt;
+
+    @BeforeEach
+    void setup(){
+        when(proveedorUserAutenticado.obtener(jwt))
+                .thenReturn(Optional.of(new UserAutenticadoDTO(1L, "test@example.com", 1, 1)));
+    }
+
+    @Test
+    void testSugerir_coincidenciasPorPrefijo_noDebeConsultarDB(){
+
+        when(cacheNombresComida.buscarPorPrefijo(1L, "pol", 10)).thenReturn(List.of("Almuerzo de pollo"));
+        when(indiceAlimentos.buscarPorPrefijo("pol", 10)).thenReturn(List.of(new SugerenciaAlimentoDTO(1L, "Filete de pollo")));
+
+        SugerenciasComidaDTO salida = sugerenciasComidaService.sugerir(jwt, "pol", 10);
+
+        assertEquals(List.of("Almuerzo de pollo"), salida.comidas());
+        assertEquals("Filete de pollo", salida.alimentos().get(0).nombre());
+        verifyNoInteractions(comidaRepository, alimentoRepository);
+    }
+
+    @Test
+    void testSugerir_sinCoincidenciasPorPrefijo_debeBuscarPorSimilitud(){
+
+        when(cacheNombresComida.buscarPorPrefijo(1L, "polo ", 5)).thenReturn(List.of());
+        when(indiceAlimentos.buscarPorPrefijo("polo ", 5)).thenReturn(List.of());
+        when(comidaRepository.findNombresComidaSimilares(1L, "polo", 5)).thenReturn(List.of("Almuerzo de pollo"));
+        when(alimentoRepository.findIdsAlimentosSimilares("polo", 5)).thenReturn(List.of(1L));
+        when(indiceAlimentos.sugerenciasPara(List.of(1L))).thenReturn(List.of(new SugerenciaAlimentoDTO(1L, "Filete de pollo")));
+
+        SugerenciasComidaDTO salida = sugerenciasComidaService.sugerir(jwt, "polo ", 5);
+
+        assertEquals(List.of("Almuerzo de pollo"), salida.comidas());
+        assertEquals(1, salida.alimentos().size());
+    }
+
+    @Test
+    void testSugerir_textoCortoSinCoincidencias_noDebeBuscarPorSimilitud(){
+
+        when(cacheNombresComida.buscarPorPrefijo(1L, "zq", 10)).thenReturn(List.of());
+        when(indiceAlimentos.buscarPorPrefijo("zq", 10)).thenReturn(List.of());
+
+        SugerenciasComidaDTO salida = sugerenciasComidaService.sugerir(jwt, "zq", 10);
+
+        assertEquals(0, salida.comidas().size());
+        verifyNoInteractions(comidaRepository, alimentoRepository);
+    }
+}
@@ -7,6 +7,9 @@ import com.mournlied.nutrition_tracker_api.domain.user.dto.ObtenerUserDTO;
 import com.mournlied.nutrition_tracker_api.domain.user.dto.UserCreadoDTO;
 import com.mournlied.nutrition_tracker_api.infra.errores.ObjetoRequeridoNoEncontrado;
 import com.mournlied.nutrition_tracker_api.infra.errores.ValidacionDeIntegridad;
+import com.mournlied.nutrition_tracker_api.domain.user.dto.UserAutenticadoDTO;
+import com.mournlied.nutrition_tracker_api.infra.security.CacheUserAutenticado;
+import com.mournlied.nutrition_tracker_api.infra.security.ProveedorUserAutenticado;
 import com.mournlied.nutrition_tracker_api.repository.RolRepository;
 import com.mournlied.nutrition_tracker_api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +42,12 @@ class UserServiceTest {
     @Mock
     private RolRepository rolRepository;
 
+    @Mock
+    private CacheUserAutenticado cacheUserAutenticado;
+
+    @Mock
+    private ProveedorUserAutenticado proveedorUserAutenticado;
+
     @InjectMocks
     private UserService userService;
 
@@ -50,6 +59,8 @@ class UserServiceTest {
 
     private final User userCreacion = new User("test@example.com");
 
+    private final UserAutenticadoDTO userAutenticado = new UserAutenticadoDTO(1L, "test@example.com", 1, 1);
+
     private final Rol userRol = new Rol(
             1,
             Set.of(userCreacion),
@@ -132,8 +143,8 @@ class UserServiceTest {
     @Test
     void testObtenerUserPorId_requestValida_debeRetornarUserBuscado(){
 
-        when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(userRepository.findUserByUserId(1L)).thenReturn(Optional.of(userDB));
 
         ObtenerUserDTO salidaDTO = userService.obtenerUserPorId(1L, authentication);
 
@@ -144,8 +155,7 @@ class UserServiceTest {
     @Test
     void testObtenerUserPorId_userIdNoRegistrada_debeLanzarExcepcion(){
 
-        when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.empty());
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.empty());
 
         assertThrows(ObjetoRequeridoNoEncontrado.class, () -> userService.obtenerUserPorId(2L, authentication));
     }
@@ -153,8 +163,7 @@ class UserServiceTest {
     @Test
     void testObtenerUserPorId_idParamNoCoincideConAutenticacion_debeLanzarExcepcion(){
 
-        when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
 
         assertThrows(AccessDeniedException.class, () -> userService.obtenerUserPorId(2L, authentication));
     }
@@ -162,12 +171,13 @@ class UserServiceTest {
     @Test
     void testeliminarUser_userExiste_debeEliminarUser(){
 
-        when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.findUserByCorreo("test@example.com")).thenReturn(Optional.of(userDB));
+        when(proveedorUserAutenticado.obtener(jwt)).thenReturn(Optional.of(userAutenticado));
+        when(userRepository.findUserByUserId(1L)).thenReturn(Optional.of(userDB));
 
         userService.eliminarUser(1L, authentication);
 
         verify(userRepository).delete(any(User.class));
+        verify(cacheUserAutenticado).invalidarAlConfirmar("test@example.com");
     }
 
     @Test
@@ -210,6 +220,7 @@ class UserServiceTest {
 
         assertEquals(2, salidaDTO.estado());
         assertEquals("ADMIN", salidaDTO.nombreRol());
+        verify(cacheUserAutenticado).invalidarAlConfirmar("test@example.com");
     }
 
     @Test
@@ -247,6 +258,18 @@ class UserServiceTest {
         assertEquals("USER", salidaDTO.nombreRol());
     }
 
+    @Test
+    void testActualizarUser_DTOSinCambios_noDebeInvalidarCacheUsers(){
+
+        ActualizarUserDTO entradaDTO = new ActualizarUserDTO(null, null);
+
+        when(userRepository.findUserByUserId(1L)).thenReturn(Optional.of(userDB));
+
+        userService.actualizarUser(1L, entradaDTO);
+
+        verifyNoInteractions(cacheUserAutenticado);
+    }
+
     @Test
     void testActualizarUser_rolIdNoExisteEnDb_debeLanzarExcepcion(){
 
@@ -266,6 +289,7 @@ class UserServiceTest {
         userService.eliminarUserAdmins(1L);
 
         verify(userRepository).delete(any(User.class));
+        verify(cacheUserAutenticado).invalidarAlConfirmar("test@example.com");
     }
 
     @Test
@@ -0,0 +1,13 @@
+-- Las comidas de prueba (V9003) se insertan despues del backfill de V17 y de las columnas de nutrientes de V21
+UPDATE comidas SET
+    calorias = nutriente_numerico(info_nutricional, '{calorias}'),
+    proteinas = nutriente_numerico(info_nutricional, '{proteinas}'),
+    carbohidratos_totales = nutriente_numerico(info_nutricional, '{carbohidratos,totales}'),
+    azucares = nutriente_numerico(info_nutricional, '{carbohidratos,azucares}'),
+    grasa_saturada = nutriente_numerico(info_nutricional, '{grasa,saturada}'),
+    grasa_trans = nutriente_numerico(info_nutricional, '{grasa,trans}'),
+    fibra = nutriente_numerico(info_nutricional, '{fibra}'),
+    sodio = nutriente_numerico(info_nutricional, '{sodio}')
+WHERE info_nutricional IS NOT NULL;
+
+SELECT reconstruir_resumen_diario(NULL);